@@ -1,6 +1,14 @@
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
 	Arena of battling fighters (as gladiators).
@@ -18,6 +26,44 @@ public class Arena {
 	/** Treasure award models. */
 	public enum TreasureModel { Monster, Dungeon, Assortment };
 
+	//--------------------------------------------------------------------------
+	//  Inner class
+	//--------------------------------------------------------------------------
+
+	/** 
+		Results of one duel that touch shared state.
+		Kept apart while duels run, then merged in duel order.
+	*/
+	private static class DuelRecord {
+
+		/** Monster XP awarded. */
+		private long monsterXP;
+
+		/** Treasure XP awarded. */
+		private long treasureXP;
+
+		/** Monster type that killed the fighter (null if none). */
+		private Monster killer;
+
+		/** Report text held for merge (null = print at once). */
+		private StringBuilder log;
+
+		/** Constructor. */
+		DuelRecord(boolean holdReports) {
+			log = holdReports ? new StringBuilder() : null;
+		}
+
+		/** Report a line of text. */
+		void report(String s) {
+			if (log == null) {
+				System.out.println(s);
+			}
+			else {
+				log.append(s).append('\n');
+			}
+		}
+	};
+
 	//--------------------------------------------------------------------------
 	//  Constants
 	//--------------------------------------------------------------------------
@@ -43,6 +89,10 @@ public class Arena {
 	/** Baseline XP per defeated monster EHD. */
 	private static final int BASE_XP_PER_EHD = 100;
 
+	/** Default number of threads for duels. */
+	private static final int DEFAULT_THREADS 
+		= Runtime.getRuntime().availableProcessors();
+
 	//--------------------------------------------------------------------------
 	//  Fields
 	//--------------------------------------------------------------------------
@@ -122,6 +172,21 @@ public class Arena {
 	/** Typical alignment for generated men. */
 	private Alignment typicalAlignment;
 
+	/** Number of threads for duels in each cycle. */
+	private int numThreads;
+
+	/** Pool for duels in parallel (null = run in this thread). */
+	private ExecutorService duelPool;
+
+	/** Number of independent replicate arenas to run. */
+	private int numReplicates;
+
+	/** Kills by each monster prototype in this arena. */
+	private Map<Monster, Integer> killTally;
+
+	/** Simulation config for this arena's fighters & fights. */
+	private SimulationConfig config;
+
 	//--------------------------------------------------------------------------
 	//  Constructors
 	//--------------------------------------------------------------------------
@@ -137,10 +202,14 @@ public class Arena {
 		fighterPartySize = DEFAULT_PARTY_SIZE;
 		treasureModel = TreasureModel.Dungeon;
 		baseArmorType = DEFAULT_ARMOR;
-		Character.setPctMagicPerLevel(DEFAULT_PCT_MAGIC_PER_LEVEL);
+		config = SimulationConfig.current()
+			.withPctMagicPerLevel(DEFAULT_PCT_MAGIC_PER_LEVEL);
 		typicalAlignment = Alignment.Neutral;
 		fighterList = new Party(); 
 		reportFighterStats = true;
+		numThreads = DEFAULT_THREADS;
+		numReplicates = 1;
+		killTally = new IdentityHashMap<Monster, Integer>();
 	}
 
 	/**
@@ -204,6 +273,10 @@ public class Arena {
 			+ DEFAULT_NUM_YEARS + ")");
 		println("\t-z fighter party size (default =" 
 			+ DEFAULT_PARTY_SIZE + ")");
+		println("\t-S seed random numbers for a reproducible run (=#)");
+		println("\t-R run independent replicates; report means & CIs (=#)");
+		println("\t-T threads for duels in each cycle " 
+			+ "(default =" + DEFAULT_THREADS + ")");
 		println("");
 	}
 
@@ -214,24 +287,27 @@ public class Arena {
 		for (String s: args) {
 			if (s.length() > 1 && s.charAt(0) == '-') {
 				switch (s.charAt(1)) {
-					case 'a': Character.setApplyAgingEffects(true); break;
+					case 'a': config = config.withAgingEffects(true); break;
 					case 'b': setBaseArmorFromInt(getParamInt(s)); break;
 					case 'd': awardMagicTreasureDrops = true; break;
 					case 'e': reportEveryEncounter = true; break;
 					case 'f': fightsPerYear = getParamInt(s); break; 
 					case 'l': reportAllXPAwards = true; break;
-					case 'm': Character.setPctMagicPerLevel(getParamInt(s)); break;
+					case 'm': setPctMagicPerLevel(getParamInt(s)); break;
 					case 'n': fighterPopSize = getParamInt(s); break;
-					case 'p': FightManager.setPlayByPlayReporting(true); break;
+					case 'p': config = config.withPlayByPlay(true); break;
 					case 'r': setReportingFromParamCode(s); break;
 					case 's': startLevel = getParamInt(s); break;
 					case 't': setTreasureModelFromParamCode(s); break;
 					case 'u': makeWinPercentMatrix = true; break;
 					case 'v': fightManVsMonster = true; break;
-					case 'w': Character.setSweepAttacks(true); break;
+					case 'w': config = config.withSweepAttacks(true); break;
 					case 'x': useRevisedXPAwards = true; break;
 					case 'y': numYears = getParamInt(s); break; 
 					case 'z': setPartySize(getParamInt(s)); break;
+					case 'R': numReplicates = getParamInt(s); break;
+					case 'S': Dice.setSeed(getParamInt(s)); break;
+					case 'T': numThreads = getParamInt(s); break;
 					default: exitAfterArgs = true; break;
 				}
 			}
@@ -317,12 +393,40 @@ public class Arena {
 		Run the arena's top-level algorithm.
 	*/
 	public void runSim() {
-		for (int year = 1; year <= numYears; year++) {
-			for (int i = 0; i < fightsPerYear; i++) {
-				runOneCycle();  
+		SimulationConfig previousConfig = SimulationConfig.install(config);
+		if (numThreads > 1) {
+			FightBatch.loadTables();
+			duelPool = Executors.newFixedThreadPool(numThreads);
+		}
+		try {
+			for (int year = 1; year <= numYears; year++) {
+				for (int i = 0; i < fightsPerYear; i++) {
+					runOneCycle();  
+				}
+				yearEnd(year);
 			}
-			yearEnd(year);
 		}
+		finally {
+			if (duelPool != null) {
+				duelPool.shutdown();
+				duelPool = null;
+			}
+			SimulationConfig.install(previousConfig);
+		}
+	}
+
+	/**
+		Set the number of threads for duels.
+	*/
+	public void setThreads(int threads) {
+		numThreads = threads;
+	}
+
+	/**
+		Get the number of threads for duels.
+	*/
+	public int getThreads() {
+		return numThreads;
 	}
 
 	/**
@@ -350,67 +454,153 @@ public class Arena {
 		Create a new fighter of the indicated level.
 	*/
 	public Character newFighter(int level) {
-		Character f = new Character("Human", "Fighter", level, null);
-		f.setAlignment(Alignment.randomBias(typicalAlignment));
-		f.setBasicEquipment();
-		if (baseArmorType != null) {
-			f.setArmor(Armor.makeType(baseArmorType));
+		SimulationConfig previous = SimulationConfig.install(config);
+		try {
+			Character f = new Character("Human", "Fighter", level, null, false);
+			f.setAlignment(Alignment.randomBias(typicalAlignment));
+			f.beginStatsBatch();
+			f.setBasicEquipment();
+			if (baseArmorType != null) {
+				f.setArmor(Armor.makeType(baseArmorType));
+			}
+			if (fightManVsMonster) {
+				f.addEquipment(Weapon.silverDagger());
+			}
+			f.boostMagicItemsToLevel();
+			f.endStatsBatch();
+			return f;
 		}
-		if (fightManVsMonster) {
-			f.addEquipment(Weapon.silverDagger());
+		finally {
+			SimulationConfig.install(previous);
 		}
-		f.boostMagicItemsToLevel();
-		return f;
 	}
 
 	/**
 		Fight duels for all fighters in list.
+
+		Duels in a cycle involve disjoint fighters, so they may run in 
+		parallel. Each duel gets its own random context, split in order 
+		before any are run, and its awards, kills & reports are merged in 
+		duel order after all are done. So results for a fixed seed are the
+		same for any number of threads. (Play-by-play reporting forces
+		duels to run one at a time, so the text comes out in order.)
 	*/
 	private void fightDuels() {
-		if (fightManVsMonster) {
-			fightDuelsManVsMonster();
+		int numDuels = fightManVsMonster 
+			? fighterList.size() : fighterList.size() / 2;
+		RollContext base = RollContext.current();
+		RollContext[] contexts = new RollContext[numDuels];
+		for (int i = 0; i < numDuels; i++) {
+			contexts[i] = base.split();
+		}
+		if (duelPool == null || config.getFightListener() != null) {
+			for (int i = 0; i < numDuels; i++) {
+				mergeDuelRecord(fightDuelInContext(i, contexts[i], false));
+			}
 		}
 		else {
-			fightDuelsManVsMan();
+			DuelRecord[] records = new DuelRecord[numDuels];
+			AtomicInteger nextDuel = new AtomicInteger();
+			List<Future<?>> workers = new ArrayList<Future<?>>();
+			for (int t = 0; t < numThreads; t++) {
+				workers.add(duelPool.submit(() -> {
+					int i;
+					while ((i = nextDuel.getAndIncrement()) < numDuels) {
+						records[i] = fightDuelInContext(i, contexts[i], true);
+					}
+				}));
+			}
+			for (Future<?> worker: workers) {
+				try {
+					worker.get();
+				}
+				catch (InterruptedException | ExecutionException e) {
+					throw new RuntimeException("Error in arena duel", e);
+				}
+			}
+			for (DuelRecord record: records) {
+				mergeDuelRecord(record);
+			}
 		}
 	}
 
 	/**
-		Duel each pair of fighters.
+		Fight one duel in a given random context (and this arena's config).
+		@param index index of duel in this cycle
+		@param context random context for the duel
+		@param holdReports hold report text for merge?
+		@return record of the duel's shared results
 	*/
-	private void fightDuelsManVsMan() {
-		for (int i = 0; i < fighterList.size() - 1; i += 2) {
-			Party party1 = new Party(fighterList.get(i));
-			Party party2 = new Party(fighterList.get(i + 1));
-			FightManager manager = new FightManager(party1, party2);
-			if (reportEveryEncounter) {
-				System.out.println("Arena event: "  + manager);
+	private DuelRecord fightDuelInContext(
+		int index, RollContext context, boolean holdReports)
+	{
+		RollContext previous = RollContext.install(context);
+		SimulationConfig previousConfig = SimulationConfig.install(config);
+		try {
+			DuelRecord record = new DuelRecord(holdReports);
+			if (fightManVsMonster) {
+				fightDuelManVsMonster(fighterList.get(index), record);
 			}
-			manager.fight();
-			grantFightAwards(party1, party2, -1);
+			else {
+				fightDuelManVsMan(fighterList.get(2 * index), 
+					fighterList.get(2 * index + 1), record);
+			}
+			return record;
+		}
+		finally {
+			SimulationConfig.install(previousConfig);
+			RollContext.install(previous);
 		}
 	}
 
 	/**
-		Duel each fighter against random monsters.
+		Merge the shared results of one duel.
 	*/
-	private void fightDuelsManVsMonster() {
-		for (Monster fighter: fighterList) {
-			int dungeonLevel = Math.max(fighter.getLevel(), 1);
-			Party fighters = createFighterParty(fighter, fighterPartySize);
-			Party monsters = createMonsterParty(dungeonLevel, fighterPartySize);
-			FightManager manager = new FightManager(fighters, monsters);
-			if (reportEveryEncounter) {
-				System.out.println("Dungeon level " 
-					+ dungeonLevel + ": " + manager);
-			}
-			Monster chiefMonster = monsters.get(0); // for kill tally
-			manager.fight();
-			if (fighter.horsDeCombat()) {
-				addToKillTally(chiefMonster);
-			}
-			grantFightAwards(fighters, monsters, dungeonLevel);
+	private void mergeDuelRecord(DuelRecord record) {
+		totalMonsterXP += record.monsterXP;
+		totalTreasureXP += record.treasureXP;
+		if (record.killer != null) {
+			addToKillTally(record.killer);
+		}
+		if (record.log != null) {
+			System.out.print(record.log);
+		}
+	}
+
+	/**
+		Duel a pair of fighters.
+	*/
+	private void fightDuelManVsMan(
+		Monster fighter1, Monster fighter2, DuelRecord record)
+	{
+		Party party1 = new Party(fighter1);
+		Party party2 = new Party(fighter2);
+		FightManager manager = new FightManager(party1, party2);
+		if (reportEveryEncounter) {
+			record.report("Arena event: "  + manager);
 		}
+		manager.fight();
+		grantFightAwards(party1, party2, -1, record);
+	}
+
+	/**
+		Duel a fighter against random monsters.
+	*/
+	private void fightDuelManVsMonster(Monster fighter, DuelRecord record) {
+		int dungeonLevel = Math.max(fighter.getLevel(), 1);
+		Party fighters = createFighterParty(fighter, fighterPartySize);
+		Party monsters = createMonsterParty(dungeonLevel, fighterPartySize);
+		FightManager manager = new FightManager(fighters, monsters);
+		if (reportEveryEncounter) {
+			record.report("Dungeon level " 
+				+ dungeonLevel + ": " + manager);
+		}
+		Monster chiefMonster = monsters.get(0); // for kill tally
+		manager.fight();
+		if (fighter.horsDeCombat()) {
+			record.killer = chiefMonster;
+		}
+		grantFightAwards(fighters, monsters, dungeonLevel, record);
 	}
 
 	/**
@@ -462,23 +652,27 @@ public class Arena {
 	/**
 		Grant post-fight awards.
 	*/
-	private void grantFightAwards(Party party1, Party party2, int level) {
+	private void grantFightAwards(
+		Party party1, Party party2, int level, DuelRecord record) 
+	{
 		if (party1.isLive()) {
-			grantVictorAwards(party1, party2, level);
+			grantVictorAwards(party1, party2, level, record);
 		}
 		if (party2.isLive()) {
-			grantVictorAwards(party2, party1, level);
+			grantVictorAwards(party2, party1, level, record);
 		}
 	}
 
 	/**
 		Grant awards from fight to victorious party.
 	*/
-	private void grantVictorAwards(Party victor, Party loser, int level) {
+	private void grantVictorAwards(
+		Party victor, Party loser, int level, DuelRecord record) 
+	{
 
 		// Get monster award
 		int monsterXP = partyFallenXPValue(loser);
-		totalMonsterXP += monsterXP;
+		record.monsterXP += monsterXP;
 
 		// Get treasure award
 		Treasure treas = new Treasure();
@@ -487,7 +681,7 @@ public class Arena {
 			distributeMagicTreasure(victor, treas);
 		}
 		int treasureXP = treas.getValue();
-		totalTreasureXP += treasureXP;
+		record.treasureXP += treasureXP;
 
 		// Divide into shares per member
 		int sharePerMember = (monsterXP + treasureXP) / victor.size();
@@ -497,7 +691,7 @@ public class Arena {
 		
 		// Report on XP awards
 		if (reportAllXPAwards) {
-			System.out.println(victor + " each gain " 
+			record.report(victor + " each gain " 
 				+ sharePerMember + " XP");
 		}
 	}
@@ -638,7 +832,7 @@ public class Arena {
 		Monster prototype = MonsterDatabase.getInstance()
 			.getByRace(monster.getRace());
 		if (prototype != null) {
-			prototype.addToKillTally(1);
+			killTally.merge(prototype, 1, Integer::sum);
 		}  
 		else {
 			System.err.println("Failed to find prototype: " + monster);
@@ -736,7 +930,7 @@ public class Arena {
 	/**
 		Compile fighters into statistical bins by level.
 	*/
-	private StatBin[] compileStatBins() {
+	StatBin[] compileStatBins() {
 		int maxLevel = fighterList.getMaxLevels();
 		StatBin[] statBins = new StatBin[maxLevel + 1];
 		for (int i = 0; i <= maxLevel; i++) {
@@ -753,10 +947,9 @@ public class Arena {
 		Prints number killed by each monster type.
 	*/
 	private void reportMonsterKills() {
-		MonsterTables tables = MonsterTables.getInstance();
-		int maxLevel = tables.getNumTables();
+		int maxLevel = MonsterTables.getInstance().getNumTables();
 		for (int level = 1; level <= maxLevel; level++) {
-			if (tables.getTotalKillsAtLevel(level) > 0) {
+			if (getTotalKillsAtLevel(level) > 0) {
 				reportMonsterKillsAtLevel(level);
 			}
 		}
@@ -771,14 +964,14 @@ public class Arena {
 		MonsterTables tables = MonsterTables.getInstance();
 		List<Monster> levelList
 			= new ArrayList<Monster>(tables.getTable(level));
-		levelList.sort(Comparator.comparing(Monster::getKillTally));
-		int totalKills = tables.getTotalKillsAtLevel(level);
+		levelList.sort(Comparator.comparing(this::getKillTally));
+		int totalKills = getTotalKillsAtLevel(level);
 
 		// Print the list   
 		System.out.println("Level " + level + " Monsters");
 		for (Monster m: levelList) {
-			float killPct = (float) m.getKillTally() / totalKills * 100;
-			System.out.println(m.getRace() + ": " + m.getKillTally()
+			float killPct = (float) getKillTally(m) / totalKills * 100;
+			System.out.println(m.getRace() + ": " + getKillTally(m)
 				+ " (" + String.format("%.0f", killPct) + "%)"); 
 		}
 		System.out.println();
@@ -788,13 +981,12 @@ public class Arena {
 		Prints total kills at each monster level.
 	*/
 	private void reportTotalMonsterKills() {
-		MonsterTables tables = MonsterTables.getInstance();
-		int maxLevel = tables.getNumTables();
-		int grandTotal = tables.getGrandTotalKills();
+		int maxLevel = MonsterTables.getInstance().getNumTables();
+		int grandTotal = getGrandTotalKills();
 		System.out.println("Total Monster Kills");
 		System.out.println("-------------------");
 		for (int i = 1; i <= maxLevel; i++) {
-			int kills = tables.getTotalKillsAtLevel(i);
+			int kills = getTotalKillsAtLevel(i);
 			float killPct = (float) kills / grandTotal * 100;
 			System.out.println("Level " + i + ": " + kills
 				+ " (" + String.format("%.0f", killPct) + "%)");
@@ -802,12 +994,49 @@ public class Arena {
 		System.out.println();
 	}
 
+	/**
+		Get kills in this arena by a monster prototype.
+	*/
+	public int getKillTally(Monster prototype) {
+		return killTally.getOrDefault(prototype, 0);
+	}
+
+	/**
+		Get total kills in this arena by a given monster table.
+	*/
+	public int getTotalKillsAtLevel(int tableLevel) {
+		int total = 0;
+		for (Monster m: MonsterTables.getInstance().getTable(tableLevel)) {
+			total += getKillTally(m);
+		}
+		return total;
+	}
+
+	/**
+		Get grand total monster kills in this arena.
+	*/
+	public int getGrandTotalKills() {
+		int grandTotal = 0;
+		int maxLevel = MonsterTables.getInstance().getNumTables();
+		for (int i = 1; i <= maxLevel; i++) {
+			grandTotal += getTotalKillsAtLevel(i);
+		}
+		return grandTotal;
+	}
+
+	/**
+		Get the fraction of all XP awarded for treasure.
+	*/
+	public double getTreasureXPRatio() {
+		long totalXP = totalMonsterXP + totalTreasureXP;
+		return (double) totalTreasureXP / totalXP;
+	}
+
 	/**
 		Report XP award ratios.
 	*/
 	private void reportXPAwards() {
-		long totalXP = totalMonsterXP + totalTreasureXP;
-		double treasPct = (double) totalTreasureXP / totalXP * 100;
+		double treasPct = getTreasureXPRatio() * 100;
 		System.out.println("Total XP from treasure awards: " 
 			+ String.format("%.0f", treasPct) + "%");
 		System.out.println();
@@ -868,7 +1097,7 @@ public class Arena {
 		Set change of magic per level.
 	*/
 	public void setPctMagicPerLevel(int percent) {
-		Character.setPctMagicPerLevel(percent);
+		config = config.withPctMagicPerLevel(percent);
 	}
 
 	/**
@@ -896,6 +1125,235 @@ public class Arena {
 		}	
 	}
 
+	/**
+		Does this arena print text as the simulation runs?
+	*/
+	private boolean hasRunningReports() {
+		return reportEveryEncounter || reportAllXPAwards || reportYearEnd
+			|| config.getFightListener() != null;
+	}
+
+	/**
+		Run independent replicate arenas & report means across them.
+
+		Each replicate parses the same arguments, and has its own fighters
+		& kill tallies. Each gets its own random context, split in order 
+		before any are run, so results for a fixed seed are the same for 
+		any number of threads. (Reports printed while running force 
+		replicates to run one at a time, so the text comes out in order.)
+
+		@param args command-line arguments for each replicate
+		@param number number of replicates
+		@param threads number of replicates to run at once
+	*/
+	private static void runReplicates(String[] args, int number, int threads) {
+		Arena[] arenas = new Arena[number];
+		RollContext[] contexts = new RollContext[number];
+		for (int i = 0; i < number; i++) {
+			arenas[i] = new Arena();
+			arenas[i].parseArgs(args);
+			arenas[i].setThreads(1);
+		}
+		RollContext base = RollContext.current();
+		for (int i = 0; i < number; i++) {
+			contexts[i] = base.split();
+		}
+		if (threads <= 1 || arenas[0].hasRunningReports()) {
+			for (int i = 0; i < number; i++) {
+				arenas[i].runSimInContext(contexts[i]);
+			}
+		}
+		else {
+			FightBatch.loadTables();
+			ExecutorService pool 
+				= Executors.newFixedThreadPool(Math.min(threads, number));
+			try {
+				List<Future<?>> runs = new ArrayList<Future<?>>();
+				for (int i = 0; i < number; i++) {
+					Arena arena = arenas[i];
+					RollContext context = contexts[i];
+					runs.add(pool.submit(() -> arena.runSimInContext(context)));
+				}
+				for (Future<?> run: runs) {
+					try {
+						run.get();
+					}
+					catch (InterruptedException | ExecutionException e) {
+						throw new RuntimeException("Error in arena replicate", e);
+					}
+				}
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		reportReplicates(arenas);
+	}
+
+	/**
+		Run the simulation in a given random context.
+	*/
+	private void runSimInContext(RollContext context) {
+		RollContext previous = RollContext.install(context);
+		try {
+			runSim();
+		}
+		finally {
+			RollContext.install(previous);
+		}
+	}
+
+	/**
+		Print means with 95% confidence intervals across replicates.
+	*/
+	private static void reportReplicates(Arena[] arenas) {
+		Arena first = arenas[0];
+		System.out.println("Means over " + arenas.length 
+			+ " replicates (+/- 95% CI)\n");
+		if (first.reportFighterStats) {
+			reportReplicateFighterStatistics(arenas);
+		}
+		if (first.fightManVsMonster) {
+			if (first.reportMonsterKills) {
+				reportReplicateMonsterKills(arenas);
+			}
+			if (first.reportTotalMonsterKills) {
+				reportReplicateTotalMonsterKills(arenas);
+			}
+		}
+		if (first.reportXPAwards) {
+			reportReplicateXPAwards(arenas);
+		}
+	}
+
+	/**
+		Print fighter statistics across replicates.
+		Counts are means per replicate; other stats are pooled over all 
+		fighters at each level.
+	*/
+	private static void reportReplicateFighterStatistics(Arena[] arenas) {
+		int maxLevel = 0;
+		for (Arena arena: arenas) {
+			maxLevel = Math.max(maxLevel, arena.fighterList.getMaxLevels());
+		}
+		SampleStats[] counts = new SampleStats[maxLevel + 1];
+		StatBin[] pooled = new StatBin[maxLevel + 1];
+		for (int level = 0; level <= maxLevel; level++) {
+			counts[level] = new SampleStats();
+			pooled[level] = new StatBin();
+		}
+		for (Arena arena: arenas) {
+			StatBin[] statBins = arena.compileStatBins();
+			for (int level = 0; level <= maxLevel; level++) {
+				if (level < statBins.length) {
+					counts[level].add(statBins[level].size());
+					pooled[level].addBin(statBins[level]);
+				}
+				else {
+					counts[level].add(0);
+				}
+			}
+		}
+		System.out.println(
+			"Level Number   +/-  Age HPs Str Int Wis Dex Con Cha W+ A+ S+");
+		System.out.println(
+			"----- ------ ----- --- --- --- --- --- --- --- --- -- -- --");
+		for (int level = 0; level <= maxLevel; level++) {
+			StatBin bin = pooled[level];
+			if (bin.size() > 0) {
+				System.out.print(String.format("%3d   %6.1f %5.1f %3.0f %3.0f ",
+					level, counts[level].getMean(), counts[level].getHalfWidth95(),
+					bin.getMeanAge(), bin.getMeanHp())); 
+				for (Ability a: Ability.values()) {
+					System.out.print(String.format("%3.0f ", bin.getMeanAbility(a)));
+				}
+				System.out.print(String.format("%2.0f %2.0f %2.0f ",
+					bin.getMeanWeaponBonus(), bin.getMeanArmorBonus(), 
+					bin.getMeanShieldBonus()));
+				System.out.println();
+			}
+		}
+		System.out.println();
+	}
+
+	/**
+		Print mean kills by each monster type across replicates.
+	*/
+	private static void reportReplicateMonsterKills(Arena[] arenas) {
+		MonsterTables tables = MonsterTables.getInstance();
+		int maxLevel = tables.getNumTables();
+		for (int level = 1; level <= maxLevel; level++) {
+			SampleStats levelKills = new SampleStats();
+			for (Arena arena: arenas) {
+				levelKills.add(arena.getTotalKillsAtLevel(level));
+			}
+			if (levelKills.getMean() > 0) {
+				List<Monster> levelList
+					= new ArrayList<Monster>(tables.getTable(level));
+				List<SampleStats> kills = new ArrayList<SampleStats>();
+				for (Monster m: levelList) {
+					SampleStats monsterKills = new SampleStats();
+					for (Arena arena: arenas) {
+						monsterKills.add(arena.getKillTally(m));
+					}
+					kills.add(monsterKills);
+				}
+				Integer[] order = new Integer[levelList.size()];
+				for (int i = 0; i < order.length; i++) {
+					order[i] = i;
+				}
+				Arrays.sort(order, 
+					Comparator.comparing(i -> kills.get(i).getMean()));
+				System.out.println("Level " + level + " Monsters");
+				for (int i: order) {
+					double killPct = kills.get(i).getMean() 
+						/ levelKills.getMean() * 100;
+					System.out.println(levelList.get(i).getRace() + ": " 
+						+ kills.get(i)
+						+ " (" + String.format("%.0f", killPct) + "%)"); 
+				}
+				System.out.println();
+			}
+		}
+	}
+
+	/**
+		Print mean total kills at each monster level across replicates.
+	*/
+	private static void reportReplicateTotalMonsterKills(Arena[] arenas) {
+		int maxLevel = MonsterTables.getInstance().getNumTables();
+		System.out.println("Total Monster Kills");
+		System.out.println("-------------------");
+		for (int i = 1; i <= maxLevel; i++) {
+			SampleStats kills = new SampleStats();
+			SampleStats killPct = new SampleStats();
+			for (Arena arena: arenas) {
+				int levelKills = arena.getTotalKillsAtLevel(i);
+				kills.add(levelKills);
+				killPct.add((double) levelKills 
+					/ arena.getGrandTotalKills() * 100);
+			}
+			System.out.println("Level " + i + ": " + kills
+				+ String.format(" (%.0f%% +/- %.0f%%)", 
+					killPct.getMean(), killPct.getHalfWidth95()));
+		}
+		System.out.println();
+	}
+
+	/**
+		Print mean XP award ratios across replicates.
+	*/
+	private static void reportReplicateXPAwards(Arena[] arenas) {
+		SampleStats treasPct = new SampleStats();
+		for (Arena arena: arenas) {
+			treasPct.add(arena.getTreasureXPRatio() * 100);
+		}
+		System.out.println("Total XP from treasure awards: " 
+			+ String.format("%.0f%% +/- %.1f%%", 
+				treasPct.getMean(), treasPct.getHalfWidth95()));
+		System.out.println();
+	}
+
 	/**
 		Main application method.
 	*/
@@ -903,9 +1361,14 @@ public class Arena {
 		Arena arena = new Arena();
 		arena.printBanner();
 		arena.parseArgs(args);
-		if (arena.exitAfterArgs) {
+		SimulationConfig.install(arena.config);
+		if (arena.exitAfterArgs || arena.numReplicates < 1) {
 			arena.printUsage();
 		}
+		else if (arena.numReplicates > 1) {
+			arena.reportStart();
+			runReplicates(args, arena.numReplicates, arena.numThreads);
+		}
 		else {
 			arena.reportStart();
 			arena.runSim();
@@ -50,7 +50,9 @@ public class Athena {
 		for (String app: APP_NAMES) {
 			System.out.println("\t" + app);
 		}
+		System.out.println("\tserve (run apps as jobs on a local server)");
 		System.out.println("For options in individual programs, run with -?");
+		System.out.println("All programs accept -S=# to seed random numbers");
 		System.out.println("");
 	}
 
@@ -63,7 +65,7 @@ public class Athena {
 		}
 		else {
 			appSelect = args[0];
-			if (!Arrays.asList(APP_NAMES).contains(appSelect)) {
+			if (!isApp(appSelect) && !appSelect.equals("serve")) {
 				exitAfterArgs = true;
 			}
 			else {
@@ -78,14 +80,40 @@ public class Athena {
 		}
 	}
 
+	/**
+		Is this the name of an available application?
+	*/
+	static boolean isApp(String name) {
+		return Arrays.asList(APP_NAMES).contains(name);
+	}
+
+	/**
+		Get the names of available applications.
+	*/
+	static String[] getAppNames() {
+		return APP_NAMES.clone();
+	}
+
 	/**
 		Run chosen app with modified arguments.
 	*/
 	private void runApp() {
+		if (appSelect.equals("serve")) {
+			AthenaServer.main(appArgs);
+		}
+		else {
+			runApp(appSelect, appArgs);
+		}
+	}	
+
+	/**
+		Run an app with given arguments.
+	*/
+	static void runApp(String app, String[] args) {
 		try {		
-			Class<?> clazz = Class.forName(appSelect);
+			Class<?> clazz = Class.forName(app);
 			Method method = clazz.getMethod("main", String[].class); 
-			method.invoke(null, (Object) appArgs);
+			method.invoke(null, (Object) args);
 		}			
 		catch (Exception e) {
 			System.err.println(e);		
@@ -0,0 +1,291 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+	Local server to run the Athena applications as jobs (serve mode).
+
+	Each run of an application from the command line pays for JVM
+	startup, JIT warm-up, and reading all the data tables, often more
+	than the work itself. The server pays these once: it loads the
+	tables at startup, then runs jobs sent over HTTP in the same process.
+	A job is a POST to /AppName (e.g., /MonsterMetrics) with one argument
+	per line in the body; or else a GET with arguments in the query,
+	separated by &. Output is streamed back as plain text as the job
+	prints it, from any of its threads (see JobOutput). Listens only on
+	the loopback address.
+
+	Jobs run on a pool of worker threads. Each job starts with the
+	default SimulationConfig & a fresh random context on its thread, so
+	jobs with different options (including threads for fight batches)
+	may run at once. The exception is the random seed (-S), which resets
+	the source of contexts for the whole process; jobs that set it should
+	run one at a time (the default).
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-17
+*/
+
+public class AthenaServer {
+
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** Default port to listen on. */
+	private static final int DEFAULT_PORT = 8086;
+
+	/** Default number of worker threads. */
+	private static final int DEFAULT_WORKERS = 1;
+
+	/** Character set for text in requests & responses. */
+	private static final String CHARSET = "UTF-8";
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Port to listen on. */
+	private int port;
+
+	/** Number of worker threads to run jobs. */
+	private int numWorkers;
+
+	/** Flag to escape after parsing arguments. */
+	private boolean exitAfterArgs;
+
+	/** Stream for the server's own messages. */
+	private PrintStream console;
+
+	/** Number of jobs started. */
+	private AtomicInteger jobsStarted = new AtomicInteger();
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor.
+	*/
+	public AthenaServer() {
+		port = DEFAULT_PORT;
+		numWorkers = DEFAULT_WORKERS;
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Print usage.
+	*/
+	public void printUsage() {
+		System.out.println("Usage: Athena serve [options]");
+		System.out.println("  where options include:");
+		System.out.println("\t-p port to listen on (default ="
+			+ DEFAULT_PORT + ")");
+		System.out.println("\t-T worker threads to run jobs (default ="
+			+ DEFAULT_WORKERS + ")");
+		System.out.println("  Then POST to /App with one argument per line,"
+			+ " or GET /App?arg&arg...");
+		System.out.println("");
+	}
+
+	/**
+		Parse arguments.
+	*/
+	public void parseArgs(String[] args) {
+		for (String s: args) {
+			if (s.length() > 1 && s.charAt(0) == '-') {
+				switch (s.charAt(1)) {
+					case 'p': port = getParamInt(s); break;
+					case 'T': numWorkers = getParamInt(s); break;
+					default: exitAfterArgs = true; break;
+				}
+			}
+			else {
+				exitAfterArgs = true;
+			}
+		}
+		if (port < 0 || numWorkers < 1) {
+			exitAfterArgs = true;
+		}
+	}
+
+	/**
+		Get integer following equals sign in command parameter.
+	*/
+	private int getParamInt(String s) {
+		if (s.length() > 3 && s.charAt(2) == '=') {
+			try {
+				return Integer.parseInt(s.substring(3));
+			}
+			catch (NumberFormatException e) {
+			}
+		}
+		exitAfterArgs = true;
+		return -1;
+	}
+
+	/**
+		Load tables & start serving requests.
+	*/
+	public void start() throws IOException {
+		FightBatch.loadTables();
+		EHDToTables.getInstance();
+		MenTypeList.getInstance();
+		console = System.out;
+		PrintStream routed = new PrintStream(new JobOutput(console), true);
+		System.setOut(routed);
+		System.setErr(routed);
+		HttpServer server = HttpServer.create(new InetSocketAddress(
+			InetAddress.getLoopbackAddress(), port), 0);
+		ExecutorService workers = Executors.newFixedThreadPool(numWorkers);
+		server.setExecutor(workers);
+		server.createContext("/", this::handle);
+		server.start();
+		console.println("Athena serving on http://localhost:" + port
+			+ "/ with " + numWorkers + " worker(s)");
+	}
+
+	/**
+		Handle one request.
+	*/
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			String app = exchange.getRequestURI().getPath().substring(1);
+			if (!Athena.isApp(app)) {
+				sendText(exchange, 404, "Unknown application: " + app
+					+ "\nApplications: " + String.join(", ",
+						Athena.getAppNames()) + "\n");
+				return;
+			}
+			String[] args = readArgs(exchange);
+			exchange.getResponseHeaders().set("Content-Type",
+				"text/plain; charset=" + CHARSET);
+			exchange.sendResponseHeaders(200, 0);
+			try (OutputStream body
+				= new BufferedOutputStream(exchange.getResponseBody()))
+			{
+				runJob(app, args, body);
+			}
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	/**
+		Run one job, sending its output to a given stream.
+	*/
+	private void runJob(String app, String[] args, OutputStream out) {
+		int jobNumber = jobsStarted.incrementAndGet();
+		log("Job " + jobNumber + ": " + app + " " + String.join(" ", args));
+		JobOutput.setTarget(out);
+		RollContext.renew();
+		SimulationConfig.install(SimulationConfig.DEFAULT);
+		try {
+			Athena.runApp(app, args);
+		}
+		finally {
+			System.out.flush();
+			JobOutput.setTarget(null);
+			SimulationConfig.install(SimulationConfig.DEFAULT);
+		}
+	}
+
+	/**
+		Log a message to the server console.
+	*/
+	private void log(String s) {
+		console.println(s);
+	}
+
+	/**
+		Read job arguments from a request.
+		From the body, one per line; else from the query, split on &.
+	*/
+	private String[] readArgs(HttpExchange exchange) throws IOException {
+		List<String> args = new ArrayList<String>();
+		String body = readAll(exchange.getRequestBody());
+		if (!body.trim().isEmpty()) {
+			for (String line: body.split("\r?\n")) {
+				if (!line.trim().isEmpty()) {
+					args.add(line.trim());
+				}
+			}
+		}
+		else {
+			String query = exchange.getRequestURI().getRawQuery();
+			if (query != null) {
+				for (String part: query.split("&")) {
+					if (!part.isEmpty()) {
+						args.add(URLDecoder.decode(part, CHARSET));
+					}
+				}
+			}
+		}
+		return args.toArray(new String[args.size()]);
+	}
+
+	/**
+		Read all of an input stream as text.
+	*/
+	private static String readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int n;
+		while ((n = in.read(buffer)) > 0) {
+			bytes.write(buffer, 0, n);
+		}
+		return bytes.toString(CHARSET);
+	}
+
+	/**
+		Send a complete text response.
+	*/
+	private static void sendText(HttpExchange exchange, int code, String text)
+		throws IOException, UnsupportedEncodingException
+	{
+		byte[] bytes = text.getBytes(CHARSET);
+		exchange.getResponseHeaders().set("Content-Type",
+			"text/plain; charset=" + CHARSET);
+		exchange.sendResponseHeaders(code, bytes.length);
+		try (OutputStream body = exchange.getResponseBody()) {
+			body.write(bytes);
+		}
+	}
+
+	/**
+		Main application method.
+	*/
+	public static void main(String[] args) {
+		AthenaServer server = new AthenaServer();
+		server.parseArgs(args);
+		if (server.exitAfterArgs) {
+			server.printUsage();
+		}
+		else {
+			try {
+				server.start();
+			}
+			catch (IOException e) {
+				System.err.println("Could not start server: " + e);
+			}
+		}
+	}
+}
@@ -69,6 +69,14 @@ public class Attack {
 		this(null, 1, bonus, new Dice(damDice, BASE_DIE), null);
 	}
 
+	/**	
+		Constructor (copy).
+		Damage dice are shared, as they are never modified.
+	*/
+	Attack(Attack src) {
+		this(src.name, src.rate, src.bonus, src.damage, src.energy);
+	}
+
 	//--------------------------------------------------------------------------
 	//  Methods
 	//--------------------------------------------------------------------------
@@ -28,7 +28,7 @@ public class Character extends Monster {
 	private static final Dice BASE_HD = new Dice(1, 6);
 
 	/** Dice for ability scores. */
-	private static final Dice ABILITY_DICE = new Dice(3, 6);
+	private static final Dice ABILITY_DICE = new Dice(3, 6).compile();
 
 	/** How many ability boosts we give over level. */
 	private static final int ABILITY_BOOSTS_OVER_LEVEL = 2;
@@ -36,9 +36,6 @@ public class Character extends Monster {
 	/** Maximum score to which we can boost an ability. */
 	private static final int MAX_ABILITY_SCORE = 18;
 
-	/** Base percent per level for magic items. */
-	private static final int BASE_MAGIC_PER_LEVEL = 5;
-
 	/** Whether we apply the prime-requisite XP bonus. */
 	static final boolean APPLY_BONUS_XP = false;
 
@@ -91,35 +88,14 @@ public class Character extends Monster {
 	/** Rate of sweep attacks (vs. 1 HD targets) */
 	private int sweepRate;
 
-	/** Percent chance per level for magic items. */
-	private static int pctMagicPerLevel = BASE_MAGIC_PER_LEVEL;
-
-	/** Assign feats to characters? */
-	private static boolean useFeats = false;
-
-	/** Give attacks by fighter level vs. 1 HD creatures? */
-	private static boolean useSweepAttacks = false;
-
-	/** Print feats in string descriptor? */
-	private static boolean printFeats = true;
-
-	/** Print abilities in string descriptor? */
-	private static boolean printAbilities = true;
-
-	/** Print equipment in string descriptor? */
-	private static boolean printEquipment = true;
-
-	/** Print personality in string descriptor? */
-	private static boolean printPersonality = true;
-
-	/** Print spells in string descriptor? */
-	private static boolean printSpells = true;
+	/** Depth of nested batches deferring stat updates. */
+	private int statsBatchDepth;
 
-	/** Boost abilities & hit points at time of creation? */
-	private static boolean boostInitialAbilities = false;
+	/** Were stat updates deferred in the current batch? */
+	private boolean statsStale;
 
-	/** Apply aging effects? */
-	private static boolean applyAgingEffects = false;
+	/** Are equipment items shared with a copy (see ownEquipment())? */
+	private boolean sharedEquipment;
 
 	//--------------------------------------------------------------------------
 	//  Enumerations
@@ -140,15 +116,30 @@ public class Character extends Monster {
 		Constructor (single class).
 	*/
 	public Character(String race, String classn, int level, String align) {
+		this(race, classn, level, align, true);
+	}
+
+	/**
+		Constructor (single class, optionally combat-only).
+		If not cosmetic, the name, personality & languages are not
+		rolled until first asked for (e.g., when printed); these cost
+		time & random draws that fights never use.
+		@param cosmetic fill name, personality & languages now?
+	*/
+	public Character(String race, String classn, int level, String align,
+		boolean cosmetic) 
+	{
 		super(race, BASE_ARMOR_CLASS, BASE_MOVEMENT, BASE_HD, null);
 		assert race != null;
 		assert classn != null;
 		assert level >= 0;
-		name = NameGenerator.getInstance().getRandom(race);
+		if (cosmetic) {
+			name = NameGenerator.getInstance().getRandom(race);
+		}
 		ClassType classType = ClassIndex.getTypeFromName(classn);
 		abilityScores = new int[Ability.size()];
 		rollBaseAbilities();
-		if (boostInitialAbilities) {
+		if (SimulationConfig.current().boostInitialAbilities()) {
 			boostBaseAbilities(classType, level);		
 		}
 		abilityScoreDamage = new int[Ability.size()];
@@ -157,9 +148,10 @@ public class Character extends Monster {
 		equipList = new ArrayList<Equipment>(4);
 		classList.add(new ClassRecord(this, classType, level));
 		alignment = getAlignmentFromString(align);
-		primaryPersonality = PersonalityTraits.getInstance().getRandom(alignment);
-		secondaryPersonality = PersonalityTraits.getInstance().getRandom(null);
-		languageList = getLanguageList();
+		if (cosmetic) {
+			rollPersonality();
+			languageList = getLanguageList();
+		}
 		age = BASE_AGE;
 		sweepRate = 0;
 		updateStats();
@@ -181,7 +173,7 @@ public class Character extends Monster {
 		ClassType classType1 = ClassIndex.getTypeFromName(class1);
 		ClassType classType2 = ClassIndex.getTypeFromName(class2);
 		rollBaseAbilities();
-		if (boostInitialAbilities) {
+		if (SimulationConfig.current().boostInitialAbilities()) {
 			boostBaseAbilities(classType1, level1, classType2, level2);
 		}
 		classList.add(new ClassRecord(this, classType1, level1));
@@ -190,13 +182,61 @@ public class Character extends Monster {
 		updateStats();
 		setPerfectHealth();
 	}
+
+	/**
+		Constructor (copy, for a fresh combatant like the source).
+		Has the same scores, classes, hit points & gear as the source, 
+		but full health, no conditions, and its own spell memory. 
+		Equipment items are shared until either one would change them.
+	*/
+	public Character(Character src) {
+		super(src);
+		age = src.age;
+		name = src.name;
+		abilityScores = src.abilityScores.clone();
+		abilityScoreDamage = new int[Ability.size()];
+		classList = new ArrayList<ClassRecord>(src.classList.size());
+		for (ClassRecord record: src.classList) {
+			classList.add(new ClassRecord(this, record));
+		}
+		armorWorn = src.armorWorn;
+		shieldHeld = src.shieldHeld;
+		weaponInHand = src.weaponInHand;
+		ringWorn = src.ringWorn;
+		wandHeld = src.wandHeld;
+		equipList = new ArrayList<Equipment>(src.equipList);
+		languageList = src.languageList;
+		primaryPersonality = src.primaryPersonality;
+		secondaryPersonality = src.secondaryPersonality;
+		sweepRate = src.sweepRate;
+		sharedEquipment = true;
+		if (!src.sharedEquipment) {
+			src.sharedEquipment = true;
+		}
+		setPerfectHealth();
+	}
 	
 	//--------------------------------------------------------------------------
 	//  Methods
 	//--------------------------------------------------------------------------
 
-	// Name accessor
-	public String getName() { return name; }
+	/**
+		Get the personal name (rolled now if not yet done).
+	*/
+	public String getName() { 
+		if (name == null) {
+			name = NameGenerator.getInstance().getRandom(race);
+		}
+		return name; 
+	}
+
+	/**
+		Roll primary & secondary personality traits.
+	*/
+	private void rollPersonality() {
+		primaryPersonality = PersonalityTraits.getInstance().getRandom(alignment);
+		secondaryPersonality = PersonalityTraits.getInstance().getRandom(null);
+	}
 
 	// Implement null Monster equipment methods
 	@Override public Armor getArmor() { return armorWorn; }
@@ -209,8 +249,15 @@ public class Character extends Monster {
 	public void addEquipment(Equipment equip) { equipList.add(equip); }
 	public void dropAllEquipment() { equipList.clear(); }
 	
-	// Access languages known
-	public List<Languages.Language> getLanguages() { return languageList; }
+	/**
+		Get languages known (rolled now if not yet done).
+	*/
+	public List<Languages.Language> getLanguages() { 
+		if (languageList == null) {
+			languageList = getLanguageList();
+		}
+		return languageList; 
+	}
 
 	/**
 		Roll base random ability scores.
@@ -382,6 +429,10 @@ public class Character extends Monster {
 		Update derived statistics after any character changes.
 	*/
 	private void updateStats() {
+		if (statsBatchDepth > 0) {
+			statsStale = true;
+			return;
+		}
 		primaryAttack = computeAttack();
 		armorClass = computeArmorClass();	
 		moveInches = computeMoveInches();
@@ -392,6 +443,27 @@ public class Character extends Monster {
 		boundHitPoints();
 	}
 
+	/**
+		Start a batch of changes (e.g., equipment), deferring stat updates.
+		Derived stats (attack, AC, etc.) may be out of date until the
+		matching endStatsBatch(), which updates them once. Batches nest.
+	*/
+	public void beginStatsBatch() {
+		statsBatchDepth++;
+	}
+
+	/**
+		End a batch of changes, updating stats if any were deferred.
+	*/
+	public void endStatsBatch() {
+		assert statsBatchDepth > 0;
+		statsBatchDepth--;
+		if (statsBatchDepth == 0 && statsStale) {
+			statsStale = false;
+			updateStats();
+		}
+	}
+
 	/**
 		Do we have any class of the given base type?
 	*/
@@ -569,6 +641,49 @@ public class Character extends Monster {
 		updateStats();
 	}
 
+	/**
+		Mark equipment items as shared, so neither this nor any copy 
+		changes them in place. (Call before copying from several threads.)
+	*/
+	void shareEquipment() {
+		sharedEquipment = true;
+	}
+
+	/**
+		Take private copies of shared equipment items before changing any.
+	*/
+	private void ownEquipment() {
+		if (sharedEquipment) {
+			List<Equipment> ownList = new ArrayList<Equipment>(equipList.size());
+			for (Equipment item: equipList) {
+				Equipment copy = copyItem(item);
+				if (item == armorWorn) { armorWorn = (Armor) copy; }
+				if (item == shieldHeld) { shieldHeld = (Armor) copy; }
+				if (item == weaponInHand) { weaponInHand = (Weapon) copy; }
+				if (item == ringWorn) { ringWorn = copy; }
+				if (item == wandHeld) { wandHeld = copy; }
+				ownList.add(copy);
+			}
+			equipList = ownList;
+			sharedEquipment = false;
+		}
+	}
+
+	/**
+		Copy one equipment item.
+	*/
+	private static Equipment copyItem(Equipment item) {
+		if (item instanceof Weapon) {
+			return new Weapon((Weapon) item);
+		}
+		else if (item instanceof Armor) {
+			return new Armor((Armor) item);
+		}
+		else {
+			return new Equipment(item);
+		}
+	}
+
 	/**
 		Find shield in equipment list, if any.
 	*/
@@ -642,7 +757,7 @@ public class Character extends Monster {
 		Compute max damage against a given monster.
 	*/
 	private int maxDamageVsMonster(Monster monster) {
-		Attack atk = getAttack();
+		Attack atk = computeAttack();
 		if (atk == null) { return 0; }
 		if (monster != null && !canAttack(monster)) { return 0; }
 		return atk.getDamage().maxRoll();		
@@ -723,10 +838,10 @@ public class Character extends Monster {
 		Create evil human NPC with equipment from class title.
 	*/
 	public static Character evilNPCFromTitle(String title) {
-		ClassType classType = ClassIndex.getTypeFromTitle(title);
-		if (classType != null) {
-			String classn = classType.getName();
-			int level = classType.getLevelFromTitle(title);
+		ClassIndex.ClassTitle classTitle = ClassIndex.getTitle(title);
+		if (classTitle != null) {
+			String classn = classTitle.getClassType().getName();
+			int level = classTitle.getLevel();
 			Character c = new Character("Human", classn, level, "Chaotic");
 			c.setBasicEquipment();
 			c.boostMagicItemsToLevel();
@@ -739,6 +854,7 @@ public class Character extends Monster {
 		Set basic equipment by class.
 	*/
 	public void setBasicEquipment() {
+		beginStatsBatch();
 		if (hasBaseClassType(BaseClassType.Fighter)) {
 			switch (getLevel()) {
 				case 0: setArmor(Armor.makeType(Armor.Type.Leather)); break;
@@ -768,6 +884,7 @@ public class Character extends Monster {
 		else {
 			System.err.println("Unhandled base class type.");		
 		}
+		endStatsBatch();
 	}
 
 	/**
@@ -817,6 +934,7 @@ public class Character extends Monster {
 	*/
 	@Override
 	public void boostMagicItemsOneLevel() {
+		ownEquipment();
 		if (weaponInHand == null) {
 			drawBestWeapon(null);
 		}
@@ -843,16 +961,19 @@ public class Character extends Monster {
 	*/
 	public void boostMagicItemsToLevel() {
 		int level = getLevel();
+		beginStatsBatch();
 		for (int i = 0; i < level; i++) {
 			boostMagicItemsOneLevel();
 		}
+		endStatsBatch();
 	}
 
 	/**
 		Check if a magic item boost is gained. 
 	*/
 	boolean getMagicBoost() {
-		return Dice.rollPct() <= pctMagicPerLevel;
+		return Dice.rollPct()
+			<= SimulationConfig.current().getPctMagicPerLevel();
 	}
 
 	/**
@@ -865,6 +986,7 @@ public class Character extends Monster {
 			equipList.add(ringWorn);
 		}
 		else {
+			ownEquipment();
 			ringWorn.incMagicBonus();
 		}
 	}
@@ -904,7 +1026,21 @@ public class Character extends Monster {
 			modifier += ringWorn.getMagicBonus();
 		}
 		return SavingThrows.getInstance().rollSave(
-			type, bestClass.getClassType().getSaveAsClass(), 
+			type, bestClass.getClassType().getId(), 
+			bestClass.getLevel(), modifier); 
+	}
+
+	/**
+		Get the chance to make a saving throw with modifier.
+	*/
+	@Override
+	protected double probSave(SavingThrows.Type type, int modifier) {
+		ClassRecord bestClass = bestClassForSave(type);
+		if (ringWorn != null) {
+			modifier += ringWorn.getMagicBonus();
+		}
+		return SavingThrows.getInstance().probSave(
+			type, bestClass.getClassType().getId(), 
 			bestClass.getLevel(), modifier); 
 	}
 
@@ -912,12 +1048,15 @@ public class Character extends Monster {
 		Find the best class to use for a given saving throw.
 	*/
 	private ClassRecord bestClassForSave(SavingThrows.Type saveType) {
+		if (classList.size() == 1) {
+			return classList.get(0);
+		}
+		SavingThrows saves = SavingThrows.getInstance();
 		ClassRecord bestClass = null;
 		int bestScore = Integer.MAX_VALUE;
 		for (ClassRecord record: classList) {
-			String saveAs = record.getClassType().getSaveAsClass();
-			int score = SavingThrows.getInstance().getSaveTarget(
-				saveType, saveAs, record.getLevel());
+			int score = saves.getSaveTarget(saveType, 
+				record.getClassType().getId(), record.getLevel());
 			if (score < bestScore) {
 				bestScore = score;
 				bestClass = record;			
@@ -926,20 +1065,6 @@ public class Character extends Monster {
 		return bestClass;
 	}	
 
-	/**
-	Set if we should be using optional feats.
-	*/
-	public static void setFeatUsage(boolean permit) {
-		useFeats = permit;	
-	}
-
-	/**
-		Are we using optional feats?
-	*/
-	public static boolean useFeats() {
-		return useFeats;
-	}
-	
 	/**
 		Does this character have a given feat?
 	*/
@@ -953,20 +1078,6 @@ public class Character extends Monster {
 		return false;
 	}
 
-	/**
-		Set if we should be using sweep attacks.
-	*/
-	public static void setSweepAttacks(boolean permit) {
-		useSweepAttacks = permit;	
-	}
-
-	/**
-		Are we using sweep attacks?
-	*/
-	public static boolean useSweepAttacks() {
-		return useSweepAttacks;
-	}
-
 	/**
 		How many attacks does this character get against 1 HD opponents?
 		Give this fighter bonus to any class with BAB 1 or above.
@@ -1008,7 +1119,7 @@ public class Character extends Monster {
 		age++;
 
 		// Apply effects
-		if (applyAgingEffects) {
+		if (SimulationConfig.current().applyAgingEffects()) {
 			if (getAgeCategory() != startAgeCat) {
 				ageAdjustAbilities();		
 			}
@@ -1109,34 +1220,6 @@ public class Character extends Monster {
 			: Languages.getInstance().getRandom(intScore - 10);
 	}	
 
-	/**
-		Mutator to initial ability/hp boost switch.
-	*/
-	public static void setBoostInitialAbilities(boolean boost) {
-		boostInitialAbilities = boost; 
-	}
-
-	/**
-		Accessor to initial ability/hp boost switch.
-	*/
-	public static boolean getBoostInitialAbilities() {
-		return boostInitialAbilities;	
-	}
-
-	/**
-		Mutator to aging effect switch.
-	*/
-	public static void setApplyAgingEffects(boolean aging) {
-		applyAgingEffects = aging;
-	}
-
-	/**
-		Mutator to percent magic per level. 
-	*/
-	public static void setPctMagicPerLevel(int pct) {
-		pctMagicPerLevel = pct;	
-	}
-
 	/**
 		Is this character a person? 
 	*/
@@ -1164,37 +1247,32 @@ public class Character extends Monster {
 	//  Printing Methods
 	//--------------------------------------------------------------------------
 
-	// Print option switches
-	public static void setPrintFeats(boolean p) { printFeats = p; }
-	public static void setPrintAbilities(boolean p) { printAbilities = p; }
-	public static void setPrintEquipment(boolean p) { printEquipment = p; }
-	public static void setPrintPersonality(boolean p) { printPersonality = p; }
-	public static void setPrintSpells(boolean p) { printSpells = p; }
-
 	/**
 		Identify this object as a string.
+		Optional parts are as set in the current simulation config.
 	*/
 	public String toString() {
+		SimulationConfig config = SimulationConfig.current();
 
 		// Basic stat string
-		String s = name + ", " + race + " " + classString(true);
+		String s = getName() + ", " + race + " " + classString(true);
 		s += ": AC " + getAC() + ", MV " + getMV() + ", HD " + getHD()
 			+ " (hp " + getHP() + "), Atk " + getAttack();
 		
 		// Optional stuff
-		if (printAbilities) {
+		if (config.printAbilities()) {
 			s = addClause(s, abilityString());
 		}
-		if (printPersonality) {
+		if (config.printPersonality()) {
 			s = addClause(s, toSentenceCase(personalityString()));
 		}
-		if (printEquipment) {
+		if (config.printEquipment()) {
 			s = addClause(s, "Gear: ", toSentenceCase(equipString()));
 		}
-		if (printFeats) {
+		if (config.printFeats()) {
 			s = addClause(s, "Feats: ", toSentenceCase(featString()));
 		}
-		if (printSpells) {
+		if (config.printSpells()) {
 			s = addClause(s, "Spells: ", toSentenceCase(spellString()));
 		}
 		return s + ".";
@@ -1204,7 +1282,7 @@ public class Character extends Monster {
 		Short String representation of this character.
 	*/
 	public String shortString() {
-		return name + ", " + race + " " 
+		return getName() + ", " + race + " " 
 			+ classString(true) + ": hp " + getHP();
 	}
 
@@ -1239,6 +1317,9 @@ public class Character extends Monster {
 		String representation of alignment and personality.
 	*/
 	private String personalityString() {
+		if (primaryPersonality == null) {
+			rollPersonality();
+		}
 		return alignment + ", " 
 			+ primaryPersonality + ", " 
 			+ secondaryPersonality;	
@@ -1353,7 +1434,7 @@ public class Character extends Monster {
 		Create a filename identifier.
 	*/
 	public String getFilename() {
-		return name + "-" + race + classString(false);
+		return getName() + "-" + race + classString(false);
 	}
 
 	/**
@@ -1361,10 +1442,49 @@ public class Character extends Monster {
 	*/
 	public static void main(String[] args) {
 		Dice.initialize();
-		Character.setBoostInitialAbilities(true);
+		SimulationConfig previous = SimulationConfig.install(
+			SimulationConfig.current().withBoostInitialAbilities(true));
 		Character p = new Character("Human", "Fighter", 1, null);
 		p.setBasicEquipment();
 		p.drawBestWeapon(null);
 		System.out.println(p);
+		SimulationConfig.install(previous);
+
+		// Time building equipped fighters, as for the arena
+		int number = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		for (int round = 0; round < 2; round++) {
+			double fullRate = fightersPerSecond(number, true);
+			double combatRate = fightersPerSecond(number, false);
+			if (round > 0) {
+				System.out.println(String.format(
+					"Full: %.0f fighters/sec; combat-only: %.0f fighters/sec",
+					fullRate, combatRate));
+			}
+		}
+	}
+
+	/**
+		Time building equipped fighters of levels 1 to 12.
+		@param number number of fighters to build
+		@param cosmetic fill name, personality & languages?
+		@return fighters built per second
+	*/
+	private static double fightersPerSecond(int number, boolean cosmetic) {
+		long start = System.nanoTime();
+		for (int i = 0; i < number; i++) {
+			Character f = new Character("Human", "Fighter", 
+				i % 12 + 1, null, cosmetic);
+			if (cosmetic) {
+				f.setBasicEquipment();
+				f.boostMagicItemsToLevel();
+			}
+			else {
+				f.beginStatsBatch();
+				f.setBasicEquipment();
+				f.boostMagicItemsToLevel();
+				f.endStatsBatch();
+			}
+		}
+		return number * 1e9 / (System.nanoTime() - start);
 	}
 }
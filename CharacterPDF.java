@@ -225,7 +225,8 @@ public class CharacterPDF {
 	public static void main(String[] args) {
 		Dice.initialize();
 		CharacterPDF cp = new CharacterPDF();
-		Character.setBoostInitialAbilities(true);
+		SimulationConfig.install(
+			SimulationConfig.current().withBoostInitialAbilities(true));
 		Character c = new Character("Human", "Fighter", 1, null);
 		c.setBasicEquipment();
 		c.drawBestWeapon(null);
@@ -0,0 +1,128 @@
+import java.util.function.IntFunction;
+
+/**
+	Pool of prebuilt characters to draw copies from, by level.
+
+	Building an equipped character takes many rolls & objects, and some
+	simulations build a whole party for every fight. Instead, a pool
+	builds a reservoir of characters at each level once, and each draw
+	is a copy of one picked at random (see the Character copy
+	constructor). Since each in the reservoir is built the same way as a
+	fresh one, a draw has the same distribution as building anew. The
+	reservoir is built in the current random context, so build the pool
+	before splitting contexts for any threads; draws may then be made
+	from any thread. Levels above the pool maximum are built fresh.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-17
+*/
+
+public class CharacterPool {
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Function to build a new character at a given level. */
+	private IntFunction<Character> builder;
+
+	/** Maximum level held in the pool. */
+	private int maxLevel;
+
+	/** Number of characters held at each level. */
+	private int size;
+
+	/** Prebuilt characters, by level & index. */
+	private Character[][] reservoir;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor (builds the reservoir).
+		@param builder function to build a new character by level
+		@param maxLevel maximum level held in the pool
+		@param size number of characters held per level (0 = none)
+	*/
+	public CharacterPool(IntFunction<Character> builder,
+		int maxLevel, int size)
+	{
+		assert maxLevel >= 0;
+		assert size >= 0;
+		this.builder = builder;
+		this.maxLevel = maxLevel;
+		this.size = size;
+		reservoir = new Character[maxLevel + 1][size];
+		for (int level = 0; level <= maxLevel; level++) {
+			for (int i = 0; i < size; i++) {
+				Character c = builder.apply(level);
+				c.shareEquipment();
+				reservoir[level][i] = c;
+			}
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Get a new character of a given level.
+		A copy of a random prebuilt one, or else built fresh.
+	*/
+	public Character draw(int level) {
+		if (size > 0 && 0 <= level && level <= maxLevel) {
+			return new Character(reservoir[level][Dice.roll(size) - 1]);
+		}
+		return builder.apply(level);
+	}
+
+	/**
+		Main test method.
+		Times building fighters fresh against drawing them from a pool,
+		and compares average stats each way. Takes number of fighters
+		per level & pool size from command line.
+	*/
+	public static void main(String[] args) {
+		int number = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		int poolSize = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		int maxLevel = 12;
+		Dice.initialize();
+		IntFunction<Character> builder = level -> {
+			Character c = new Character("Human", "Fighter", level, null, false);
+			c.setBasicEquipment();
+			c.boostMagicItemsToLevel();
+			return c;
+		};
+		long start = System.nanoTime();
+		CharacterPool pool = new CharacterPool(builder, maxLevel, poolSize);
+		long buildTime = System.nanoTime() - start;
+		System.out.println("Pool built in " + buildTime / 1000000 + " ms");
+		for (int round = 0; round < 2; round++) {
+			for (int drawn = 0; drawn < 2; drawn++) {
+				long sumHP = 0, sumAC = 0, sumHit = 0;
+				start = System.nanoTime();
+				for (int level = 0; level <= maxLevel; level++) {
+					for (int i = 0; i < number; i++) {
+						Character c = (drawn > 0)
+							? pool.draw(level) : builder.apply(level);
+						c.drawBestWeapon(null);
+						sumHP += c.getMaxHitPoints();
+						sumAC += c.getAC();
+						sumHit += c.getAttack().getBonus();
+					}
+				}
+				long time = System.nanoTime() - start;
+				double count = (double) number * (maxLevel + 1);
+				if (round > 0) {
+					System.out.println(String.format(
+						"%s: %.2f us per fighter; "
+						+ "mean hp %.3f, AC %.3f, to-hit %.3f",
+						drawn > 0 ? "Pool" : "Fresh", time / count / 1000,
+						sumHP / count, sumAC / count, sumHit / count));
+				}
+			}
+		}
+	}
+}
@@ -1,8 +1,14 @@
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
 	Index of supported character class types (singleton pattern).
 
+	Class names are hash-indexed at load time (see NameIndex). Titles
+	are looked up by class in order, as in the tables or with an appended
+	name level (e.g., "Lord, 12th Level"), once on first use; then the
+	class & level are remembered.
+
 	@author Daniel R. Collins (dcollins@superdan.net)
 	@since 2014-05-22
 */
@@ -16,6 +22,41 @@ public class ClassIndex {
 	/** Name of file with class information. */
 	private static final String CLASS_INDEX_FILE = "ClassIndex.csv";
 
+	//--------------------------------------------------------------------------
+	//  Inner class
+	//--------------------------------------------------------------------------
+
+	/**
+		Class & level given by a title.
+	*/
+	public static class ClassTitle {
+
+		/** Title text. */
+		private final String title;
+
+		/** Class type with this title. */
+		private final ClassType classType;
+
+		/** Level indicated by this title. */
+		private final int level;
+
+		/** Constructor. */
+		ClassTitle(String title, ClassType classType, int level) {
+			this.title = title;
+			this.classType = classType;
+			this.level = level;
+		}
+
+		/** Get the title text. */
+		public String getTitle() { return title; }
+
+		/** Get the class type. */
+		public ClassType getClassType() { return classType; }
+
+		/** Get the level. */
+		public int getLevel() { return level; }
+	}
+
 	//--------------------------------------------------------------------------
 	//  Fields
 	//--------------------------------------------------------------------------
@@ -26,6 +67,12 @@ public class ClassIndex {
 	/** Array of ClassInfo records. */
 	private ClassType[] classTypeList;
 
+	/** Index of class types by name. */
+	private NameIndex<ClassType> nameIndex;
+
+	/** Class & level for titles, as found in use. */
+	private ConcurrentHashMap<String, ClassTitle> titlesFound;
+
 	//--------------------------------------------------------------------------
 	//  Constructors
 	//--------------------------------------------------------------------------
@@ -41,8 +88,11 @@ public class ClassIndex {
 			String className = index[i][0];
 			String filename = "Class-" + className + ".csv";
 			String[][] levelData = CSVReader.readFile(filename);
-			classTypeList[i - 1] = new ClassType(index[i], levelData);
+			classTypeList[i - 1] = new ClassType(i - 1, index[i], levelData);
 		}
+		nameIndex = new NameIndex<ClassType>(classTypeList, ClassType::getName,
+			false);
+		titlesFound = new ConcurrentHashMap<String, ClassTitle>();
 	}
 
 	//--------------------------------------------------------------------------
@@ -68,26 +118,49 @@ public class ClassIndex {
 		Get ClassType for a given class name.
 	*/
 	public static ClassType getTypeFromName(String name) {
-		ClassIndex index = getInstance();
-		for (ClassType type: index.classTypeList) {
-			if (type.getName().equals(name)) {
-				return type;
-			}		
-		}
-		return null;
+		return getInstance().nameIndex.get(name);
+	}
+
+	/**
+		Get the number of class types.
+	*/
+	public static int getNumTypes() {
+		return getInstance().classTypeList.length;
+	}
+
+	/**
+		Get ClassType for a given class id (see ClassType.getId()).
+	*/
+	public static ClassType getTypeFromId(int id) {
+		return getInstance().classTypeList[id];
 	}
 
 	/**
 		Get ClassType for a given class title.
 	*/
 	public static ClassType getTypeFromTitle(String title) {
+		ClassTitle classTitle = getTitle(title);
+		return classTitle == null ? null : classTitle.getClassType();
+	}
+
+	/**
+		Get class & level for a given title.
+		@return the class & level, or null if no class has the title
+	*/
+	public static ClassTitle getTitle(String title) {
 		ClassIndex index = getInstance();
-		for (ClassType type: index.classTypeList) {
-			if (type.getLevelFromTitle(title) > -1) {
-				return type;			
+		ClassTitle classTitle = index.titlesFound.get(title);
+		if (classTitle == null) {
+			for (ClassType type: index.classTypeList) {
+				int level = type.getLevelFromTitle(title);
+				if (level > -1) {
+					classTitle = new ClassTitle(title, type, level);
+					index.titlesFound.putIfAbsent(title, classTitle);
+					break;
+				}
 			}
 		}
-		return null;
+		return classTitle;
 	}
 
 	/**
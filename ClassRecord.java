@@ -59,6 +59,24 @@ public class ClassRecord {
 		addAllSpells();
 	}
 
+	/**
+		Constructor (copy, for a copied character).
+		Has its own spell memory & feats.
+	*/
+	public ClassRecord(Character character, ClassRecord src) {
+		this.character = character;
+		this.classType = src.classType;
+		this.level = src.level;
+		this.hitPoints = src.hitPoints;
+		this.xp = src.xp;
+		if (src.spellsKnown != null) {
+			spellsKnown = new SpellMemory(src.spellsKnown);
+		}
+		if (src.featsKnown != null) {
+			featsKnown = EnumSet.copyOf(src.featsKnown);
+		}
+	}
+
 	//--------------------------------------------------------------------------
 	//  Methods
 	//--------------------------------------------------------------------------
@@ -133,7 +151,7 @@ public class ClassRecord {
 		Is this a level where we gain a feat?
 	*/
 	private boolean isFeatLevel(int newLevel) {
-		return Character.useFeats()
+		return SimulationConfig.current().useFeats()
 			&& classType.usesFeats()
 			&& newLevel % 4 == 0;
 	}
@@ -142,7 +160,7 @@ public class ClassRecord {
 		Choose all feats for new character.
 	*/
 	private void addAllFeats() {
-		if (Character.useFeats() && classType.usesFeats()) {
+		if (SimulationConfig.current().useFeats() && classType.usesFeats()) {
 			featsKnown = EnumSet.noneOf(Feat.class);
 			for (int i = 1; i <= level; i++) {
 				if (isFeatLevel(i)) {
@@ -277,7 +295,7 @@ public class ClassRecord {
 	*/
 	private void rollFullHitPoints() {
 		hitPoints = 0;
-		boolean boost = Character.getBoostInitialAbilities();
+		boolean boost = SimulationConfig.current().boostInitialAbilities();
 		for (int newLevel = 0; newLevel <= level; newLevel++) {
 			addNewHitPoints(newLevel, boost);
 		}
@@ -11,6 +11,9 @@ public class ClassType {
 	//  Fields
 	//--------------------------------------------------------------------------
 
+	/** Index of this class in the ClassIndex. */
+	private int id;
+
 	/** Name of this class. */
 	private String name;
 
@@ -59,12 +62,14 @@ public class ClassType {
 	
 	/**
 		Constructor (from String arrays).
+		@param id Index of this class in the ClassIndex.
 		@param indexData Top-level data about this class.
 		@param levelData Level-specific information (title, XP, etc.)
 	*/
-	public ClassType(String[] indexData, String[][] levelData) {
+	public ClassType(int id, String[] indexData, String[][] levelData) {
 	
 		// Master fields
+		this.id = id;
 		name = indexData[0];
 		abbreviation = indexData[1];
 		String atkBonusStr = indexData[3];
@@ -102,6 +107,13 @@ public class ClassType {
 	//  Methods
 	//--------------------------------------------------------------------------
 
+	/**
+		Get the class id (index in the ClassIndex).
+	*/
+	public int getId() {
+		return id;
+	}
+
 	/**
 		Get the class name.
 	*/
@@ -1,16 +1,177 @@
-import java.util.Random;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 
 /**
 	Dice group for random rolls.
 
+	Any dice can give the exact distribution of their rolls, computed
+	once by convolution (see mean(), cdf(), etc.). Dice rolled many times,
+	like table entries shared by all spawns, may be compiled: then each 
+	roll of three or more dice is one draw from an alias table on that 
+	distribution, rather than one draw per die.
+
 	@author Daniel R. Collins (dcollins@superdan.net)
 	@since 2014-05-20
 */
 
 public class Dice {
 
+	//--------------------------------------------------------------------------
+	//  Inner class
+	//--------------------------------------------------------------------------
+
+	/**
+		Exact distribution of rolls for some dice.
+		Immutable, so may be shared by copies & threads.
+	*/
+	private static final class Distribution {
+
+		/** Possible rolls, in increasing order. */
+		private final int[] values;
+
+		/** Probability of each roll. */
+		private final double[] probs;
+
+		/** Cumulative probability through each roll. */
+		private final double[] cumulative;
+
+		/** Alias table: chance to keep each column. */
+		private final double[] keepProbs;
+
+		/** Alias table: alternate index for each column. */
+		private final int[] aliases;
+
+		/** 
+			Constructor (compute for dice).
+		*/
+		private Distribution(Dice dice) {
+
+			// Convolve raw dice (offset from minimum)
+			int num = Math.max(dice.number, 0);
+			int sides = Math.max(dice.sides, 1);
+			double[] raw = { 1.0 };
+			for (int die = 0; die < num; die++) {
+				double[] next = new double[raw.length + sides - 1];
+				double window = 0;
+				for (int i = 0; i < next.length; i++) {
+					if (i < raw.length) {
+						window += raw[i];
+					}
+					if (i >= sides) {
+						window -= raw[i - sides];
+					}
+					next[i] = window / sides;
+				}
+				raw = next;
+			}
+
+			// Map to adjusted rolls (merging equal ones under a divisor)
+			int[] vals = new int[raw.length];
+			double[] ps = new double[raw.length];
+			int n = 0;
+			for (int i = 0; i < raw.length; i++) {
+				int value = dice.adjustRoll(num + i);
+				if (n > 0 && vals[n - 1] == value) {
+					ps[n - 1] += raw[i];
+				}
+				else {
+					vals[n] = value;
+					ps[n] = raw[i];
+					n++;
+				}
+			}
+			values = Arrays.copyOf(vals, n);
+			probs = Arrays.copyOf(ps, n);
+			cumulative = new double[n];
+			double sum = 0;
+			for (int i = 0; i < n; i++) {
+				sum += probs[i];
+				cumulative[i] = sum;
+			}
+
+			// Build alias table (Vose's method)
+			keepProbs = new double[n];
+			aliases = new int[n];
+			int[] small = new int[n];
+			int[] large = new int[n];
+			int numSmall = 0, numLarge = 0;
+			for (int i = 0; i < n; i++) {
+				keepProbs[i] = probs[i] * n;
+				if (keepProbs[i] < 1.0) {
+					small[numSmall++] = i;
+				}
+				else {
+					large[numLarge++] = i;
+				}
+			}
+			while (numSmall > 0 && numLarge > 0) {
+				int less = small[--numSmall];
+				int more = large[--numLarge];
+				aliases[less] = more;
+				keepProbs[more] += keepProbs[less] - 1.0;
+				if (keepProbs[more] < 1.0) {
+					small[numSmall++] = more;
+				}
+				else {
+					large[numLarge++] = more;
+				}
+			}
+			while (numLarge > 0) {
+				keepProbs[large[--numLarge]] = 1.0;
+			}
+			while (numSmall > 0) {
+				keepProbs[small[--numSmall]] = 1.0;
+			}
+		}
+
+		/**
+			Draw one roll from a random context.
+		*/
+		private int sample(RollContext context) {
+			int i = context.nextInt(values.length);
+			return context.nextDouble() < keepProbs[i] 
+				? values[i] : values[aliases[i]];
+		}
+
+		/**
+			Get the probability of a roll at most some value.
+		*/
+		private double cdf(int k) {
+			int i = Arrays.binarySearch(values, k);
+			if (i < 0) {
+				i = -i - 2;
+			}
+			return i < 0 ? 0.0 : Math.min(cumulative[i], 1.0);
+		}
+
+		/**
+			Get the probability of exactly some roll.
+		*/
+		private double prob(int k) {
+			int i = Arrays.binarySearch(values, k);
+			return i < 0 ? 0.0 : probs[i];
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** Fewest dice for which compiled rolls use the alias table. */
+	private static final int MIN_DICE_TO_SAMPLE = 3;
+
+	/** Pattern for dice descriptors (e.g., 3d6, 4d10x10, d6/2+1). */
+	private static final Pattern DICE_PATTERN = Pattern.compile(
+		"([1-9]\\d*)?d([1-9]\\d*)([/x][1-9]\\d*)?([+-]\\d+)?");
+
+	/** Shared dice by descriptor (see of()). */
+	private static final Map<String, Dice> internedDice
+		= new ConcurrentHashMap<String, Dice>();
+
 	//--------------------------------------------------------------------------
 	//  Fields
 	//--------------------------------------------------------------------------
@@ -27,14 +188,14 @@ public class Dice {
 	/** Addition to the dice (negative = subtraction). */
 	private int addition;
 
-	/** 
-		Random number generator. 
-		Maintaining our own generator is more efficient than calls to
-		the Math routine in a dice-heavy program; (1) we avoid checks
-		for null random; (2) we can call nextInt directly and avoid 
-		conversion back-and-forth with double.
-	*/
-	private static Random random = null;
+	/** Flag to roll from the alias table when worthwhile. */
+	private boolean compiled;
+
+	/** Exact distribution (null until needed, or after any change). */
+	private Distribution distribution;
+
+	/** Flag for shared dice that may not be changed. */
+	private boolean frozen;
 
 	//--------------------------------------------------------------------------
 	//  Constructors
@@ -80,9 +241,7 @@ public class Dice {
 	*/
 	Dice(String s) {
 		this(0, 0, 1, 0);
-		Pattern p = Pattern.compile(
-			"([1-9]\\d*)?d([1-9]\\d*)([/x][1-9]\\d*)?([+-]\\d+)?");
-		Matcher m = p.matcher(s);
+		Matcher m = DICE_PATTERN.matcher(s);
 		if (m.matches()) {
 			number = (m.group(1) != null ? Integer.parseInt(m.group(1)) : 1);
 			sides = Integer.parseInt(m.group(2));
@@ -105,12 +264,15 @@ public class Dice {
 
 	/**
 		Constructor (copy).
+		The copy may be changed, even if the source is shared.
 	*/
 	public Dice(Dice d) {
 		this.number = d.number;
 		this.sides = d.sides;
 		this.multiplier = d.multiplier;
 		this.addition = d.addition; 
+		this.compiled = d.compiled;
+		this.distribution = d.distribution;
 	}
 
 	//--------------------------------------------------------------------------
@@ -124,33 +286,72 @@ public class Dice {
 	public int getAdd() { return addition; }
 
 	// Basic mutators
-	public void setNum(int num) { number = num; }
-	public void setSides(int sides) { this.sides = sides; }
-	public void setMul(int mul) { multiplier = mul; }
-	public void setAdd(int add) { addition = add; }
+	public void setNum(int num) { checkChange(); number = num; }
+	public void setSides(int sides) { checkChange(); this.sides = sides; }
+	public void setMul(int mul) { checkChange(); multiplier = mul; }
+	public void setAdd(int add) { checkChange(); addition = add; }
+
+	/**
+		Prepare for a change to these dice.
+		@throws UnsupportedOperationException if dice are shared
+	*/
+	private void checkChange() {
+		if (frozen) {
+			throw new UnsupportedOperationException(
+				"Shared dice may not be changed: " + this);
+		}
+		distribution = null;
+	}
+
+	/**
+		Get shared dice for a descriptor.
+		Parsed & compiled once, then reused by every caller; the dice may
+		not be changed (copy them first if needed).
+	*/
+	public static Dice of(String s) {
+		Dice dice = internedDice.get(s);
+		if (dice == null) {
+			dice = new Dice(s).compile();
+			dice.frozen = true;
+			Dice prior = internedDice.putIfAbsent(s, dice);
+			if (prior != null) {
+				dice = prior;
+			}
+		}
+		return dice;
+	}
 
 	/** 
 		Initialize the dice random generator.
-		Must call this before any roll() methods.
+		Retained for older callers; each thread now creates
+		its own RollContext on first use, so this is optional.
 	*/
 	public static void initialize() {
-		random = new Random();
+		RollContext.current();
+	}
+
+	/** 
+		Seed the dice for a reproducible run.
+	*/
+	public static void setSeed(long seed) {
+		RollContext.setSeed(seed);
 	}
 
 	/** 
 		Roll one die from a static context.
 	*/
 	public static int roll(int sides) {
-		return random.nextInt(sides) + 1;
+		return RollContext.current().nextInt(sides) + 1;
 	}
 
 	/** 
 		Roll multiple dice from a static context.
 	*/
 	public static int roll(int num, int sides) {
-		int total = 0;
+		RollContext context = RollContext.current();
+		int total = num;
 		for (int i = 0; i < num; i++) {
-			total += roll(sides);
+			total += context.nextInt(sides);
 		}
 		return total;	
 	}
@@ -160,14 +361,21 @@ public class Dice {
 		@return true if coin is heads
 	*/
 	public static boolean coinFlip() {
-		return random.nextInt(2) == 0;	
+		return RollContext.current().nextInt(2) == 0;	
 	}
 
 	/** 
 		Roll percentile dice from a static context.
 	*/
 	public static int rollPct() {
-		return random.nextInt(100) + 1;
+		return RollContext.current().nextInt(100) + 1;
+	}
+
+	/** 
+		Shuffle a list from a static context.
+	*/
+	public static <T> void shuffle(List<T> list) {
+		RollContext.current().shuffle(list);
 	}
 
 	/** 
@@ -189,9 +397,83 @@ public class Dice {
 		Rolls the dice.
 	*/
 	public int roll() {
+		if (compiled && number >= MIN_DICE_TO_SAMPLE) {
+			return getDistribution().sample(RollContext.current());
+		}
 		return adjustRoll(Dice.roll(number, sides));
 	}
 
+	/**
+		Compile these dice for fast repeated rolls.
+		Rolls then come from an alias table on the exact distribution,
+		built on first use: one random draw in place of one per die.
+		Worth it for dice kept & rolled many times, not for one-offs.
+		@return these dice
+	*/
+	public Dice compile() {
+		compiled = true;
+		return this;
+	}
+
+	/**
+		Get the exact distribution of rolls (computed on first use).
+	*/
+	private Distribution getDistribution() {
+		Distribution d = distribution;
+		if (d == null) {
+			d = new Distribution(this);
+			distribution = d;
+		}
+		return d;
+	}
+
+	/**
+		Compute the exact mean roll.
+	*/
+	public double mean() {
+		Distribution d = getDistribution();
+		double sum = 0;
+		for (int i = 0; i < d.values.length; i++) {
+			sum += d.values[i] * d.probs[i];
+		}
+		return sum;
+	}
+
+	/**
+		Compute the exact variance of rolls.
+	*/
+	public double variance() {
+		Distribution d = getDistribution();
+		double mean = mean();
+		double sum = 0;
+		for (int i = 0; i < d.values.length; i++) {
+			double dev = d.values[i] - mean;
+			sum += dev * dev * d.probs[i];
+		}
+		return sum;
+	}
+
+	/**
+		Compute the probability of a roll exactly k.
+	*/
+	public double prob(int k) {
+		return getDistribution().prob(k);
+	}
+
+	/**
+		Compute the probability of a roll at most k.
+	*/
+	public double cdf(int k) {
+		return getDistribution().cdf(k);
+	}
+
+	/**
+		Compute the probability of a roll at least k.
+	*/
+	public double probAtLeast(int k) {
+		return Math.max(1.0 - getDistribution().cdf(k - 1), 0.0);
+	}
+
 	/** 
 		Rolls the dice with specified floor.
 	*/
@@ -215,6 +497,7 @@ public class Dice {
 
 	/** 
 		Compute average roll.
+		Midpoint of the range, rounded down (see mean() for exact value).
 	*/
 	public int avgRoll() {
 		return (minRoll() + maxRoll()) / 2;
@@ -224,6 +507,7 @@ public class Dice {
 		Modify the addition field.
 	*/
 	public void modifyAdd(int mod) {
+		checkChange();
 		addition += mod;	
 	}
 
@@ -265,7 +549,9 @@ public class Dice {
 	*/
 	private void test() {
 		System.out.print(this + ": Min " + minRoll() 
-			+ ", Max " + maxRoll() + ", Avg " + avgRoll() + ", Sample ");
+			+ ", Max " + maxRoll() + ", Avg " + avgRoll() 
+			+ String.format(", Mean %.2f, Var %.2f", mean(), variance())
+			+ ", Sample ");
 		for (int i = 0; i < 10; i++) {
 			System.out.print(roll() + " ");
 		}
@@ -303,5 +589,53 @@ public class Dice {
 				+ (double) count[i] / numRolls);
 		}
 		System.out.println();
+
+		// Compare compiled rolls to the exact distribution
+		System.out.println("Test Compiled 3d6 against CDF");
+		d = new Dice("3d6").compile();
+		count = new int[19];
+		for (int i = 0; i < numRolls; i++) {
+			count[d.roll()]++;
+		}
+		int atMost = 0;
+		for (int k = 3; k <= 18; k++) {
+			atMost += count[k];
+			System.out.println(String.format("P(<= %d): exact %.4f, sample %.4f",
+				k, d.cdf(k), (double) atMost / numRolls));
+		}
+		System.out.println();
+
+		// Time rolling hoard-sized & big hit dice rolls
+		for (String desc: new String[] { "4d10x10", "20d8" }) {
+			timeCompiledRolls(new Dice(desc), 10000000);
+		}
+	}
+
+	/**
+		Time rolls per die against compiled rolls.
+	*/
+	private static void timeCompiledRolls(Dice loose, int passes) {
+		System.out.println("Time " + loose + " Rolls");
+		Dice compiled = new Dice(loose).compile();
+		for (int round = 0; round < 2; round++) {
+			long sum = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < passes; i++) {
+				sum += loose.roll();
+			}
+			long looseTime = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < passes; i++) {
+				sum += compiled.roll();
+			}
+			long compiledTime = System.nanoTime() - start;
+			if (round > 0) {
+				System.out.println(String.format(
+					"Per die: %.1f ns, compiled: %.1f ns (checksum %d)",
+					(double) looseTime / passes, 
+					(double) compiledTime / passes, sum));
+			}
+		}
+		System.out.println();
 	}
 }
@@ -0,0 +1,322 @@
+/**
+	Exact solver for one-on-one fights between plain combatants.
+
+	A plain combatant has no special abilities, conditions, or spells,
+	so each turn it just makes its melee attacks: a fixed chance to hit,
+	and damage from its dice. Then neither side's attacks depend on its
+	own hit points, and the number of turns each side needs to drop the
+	other can be found separately, by stepping the chances of the enemy's
+	hit points through each attack. Combining those (for either side
+	winning initiative) gives the chance to win, including the tiebreak
+	at the turn limit in FightManager. Anything not plain falls back to
+	simulated fights.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public class DuelSolver {
+
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** Sides on the die rolled to hit. */
+	private static final int HIT_DIE = 20;
+
+	/** Total roll needed to hit. */
+	private static final int HIT_TARGET = 20;
+
+	/** Chance left standing below which we stop counting turns. */
+	private static final double NEGLIGIBLE_CHANCE = 1e-12;
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Can a fight between two combatants be solved exactly?
+		Weapons should already be drawn (see solveOrFight()).
+	*/
+	public static boolean canSolve(Monster m1, Monster m2) {
+		return isPlain(m1) && isPlain(m2);
+	}
+
+	/**
+		Is this combatant plain (only makes standard melee attacks)?
+	*/
+	private static boolean isPlain(Monster m) {
+		return m.getMonsterType().getSpecials().length == 0
+			&& !m.hasAnyCondition()
+			&& !m.hasSpells()
+			&& !m.horsDeCombat()
+			&& m.getAttack() != null
+			&& !(SimulationConfig.current().useSweepAttacks()
+				&& m.getSweepRate() > m.getAttack().getRate());
+	}
+
+	/**
+		Get the chance that one combatant beats another.
+		Uses current hit points of each.
+		@return chance that the first combatant wins
+	*/
+	public static double winChance(Monster m1, Monster m2) {
+		assert canSolve(m1, m2);
+		double[] hp1 = pointChances(m1.getHP());
+		double[] hp2 = pointChances(m2.getHP());
+		return winChance(getDropChances(m1, m2, hp2,
+			FightManager.DEFAULT_MAX_TURNS), getDropChances(m2, m1, hp1,
+			FightManager.DEFAULT_MAX_TURNS));
+	}
+
+	/**
+		Get the chance that one monster type beats another, one-on-one.
+		Averages over the hit points rolled for each new monster.
+		@return chance that a monster of the first type wins
+	*/
+	public static double winChanceOfTypes(Monster type1, Monster type2) {
+		assert canSolve(type1, type2);
+		double[] hp1 = hitDiceChances(type1.getHitDice());
+		double[] hp2 = hitDiceChances(type2.getHitDice());
+		return winChance(getDropChances(type1, type2, hp2,
+			FightManager.DEFAULT_MAX_TURNS), getDropChances(type2, type1, hp1,
+			FightManager.DEFAULT_MAX_TURNS));
+	}
+
+	/**
+		Solve a fight between two combatants if we can; else fight it.
+		Draws weapons as a fight would first. Either way, the expected
+		result is the same; solving just has no variance.
+		@return chance the first combatant wins (0 or 1 if fought)
+	*/
+	public static double solveOrFight(Monster m1, Monster m2) {
+		m1.drawBestWeapon(m2);
+		m2.drawBestWeapon(m1);
+		if (canSolve(m1, m2)) {
+			return winChance(m1, m2);
+		}
+		Party party1 = new Party(m1);
+		FightManager manager = new FightManager(party1, new Party(m2));
+		return manager.fight() == party1 ? 1.0 : 0.0;
+	}
+
+	/**
+		Combine drop chances for both sides into a win chance.
+		Each side wins initiative half the time; the first mover drops
+		the other on turn t if the second hasn't dropped it in t - 1.
+		Fights still going at the turn limit are a coin flip.
+		@param drop1 chance first side drops the second on each turn
+		@param drop2 chance second side drops the first on each turn
+		@return chance the first side wins
+	*/
+	private static double winChance(double[] drop1, double[] drop2) {
+		int turns = drop1.length;
+		double win1First = 0, lose1First = 0;
+		double win1Second = 0, lose1Second = 0;
+		double alive1 = 1, alive2 = 1;
+		for (int t = 0; t < turns; t++) {
+
+			// First side moves first: it drops the other unless dropped before
+			win1First += drop1[t] * alive1;
+			lose1First += drop2[t] * (alive2 - drop1[t]);
+
+			// Second side moves first
+			lose1Second += drop2[t] * alive2;
+			win1Second += drop1[t] * (alive1 - drop2[t]);
+
+			alive1 -= drop2[t];
+			alive2 -= drop1[t];
+		}
+		double tie1First = 1 - win1First - lose1First;
+		double tie1Second = 1 - win1Second - lose1Second;
+		return 0.5 * (win1First + tie1First / 2)
+			+ 0.5 * (win1Second + tie1Second / 2);
+	}
+
+	/**
+		Get the chance an attacker first drops a defender on each turn.
+		@param attacker the attacking combatant
+		@param defender the defending combatant
+		@param hpChances chances of each defender hit point total
+		@param turns number of turns in the fight
+		@return chance the defender first drops on each turn
+	*/
+	private static double[] getDropChances(Monster attacker, Monster defender,
+		double[] hpChances, int turns)
+	{
+		Attack attack = attacker.getAttack();
+		double hitChance = getHitChance(attacker, defender);
+		double[] damageChances = getDamageChances(attack);
+		boolean rapidStrike = attacker.hasFeat(Feat.RapidStrike);
+		int rate = Math.min(attack.getRate(), Monster.MAX_MELEERS);
+		int extraRate = Math.min(attack.getRate() + 1, Monster.MAX_MELEERS);
+
+		// Damage amounts possible, with chance per hit
+		int numDamages = 0;
+		int[] damages = new int[damageChances.length];
+		double[] hitDamageChances = new double[damageChances.length];
+		for (int d = 0; d < damageChances.length; d++) {
+			if (damageChances[d] > 0) {
+				damages[numDamages] = d;
+				hitDamageChances[numDamages] = hitChance * damageChances[d];
+				numDamages++;
+			}
+		}
+
+		// Step through turns until the defender is surely down
+		double[] drops = new double[turns];
+		double[] hp = hpChances.clone();
+		double[] next = new double[hp.length];
+		double[] extra = rapidStrike ? new double[hp.length] : null;
+		double dropped = hp[0];
+		for (int t = 0; t < turns && dropped < 1 - NEGLIGIBLE_CHANCE; t++) {
+			for (int i = 0; i < rate; i++) {
+				applyAttack(hp, next, hitChance, damages, hitDamageChances,
+					numDamages);
+				double[] swap = hp;
+				hp = next;
+				next = swap;
+			}
+			if (rapidStrike) {
+				System.arraycopy(hp, 0, extra, 0, hp.length);
+				for (int i = rate; i < extraRate; i++) {
+					applyAttack(extra, next, hitChance, damages, 
+						hitDamageChances, numDamages);
+					double[] swap = extra;
+					extra = next;
+					next = swap;
+				}
+				for (int h = 0; h < hp.length; h++) {
+					hp[h] = (hp[h] + extra[h]) / 2;
+				}
+			}
+			drops[t] = hp[0] - dropped;
+			dropped = hp[0];
+		}
+		return drops;
+	}
+
+	/**
+		Step the chances of defender hit points through one attack.
+		Hit points stop at zero (no further attacks matter).
+		@param hp chances of each hit point total before the attack
+		@param next array to fill with chances after the attack
+		@param hitChance chance the attack hits
+		@param damages damage amounts possible on a hit
+		@param hitDamageChances chance of hitting for each amount
+		@param numDamages number of damage amounts
+	*/
+	private static void applyAttack(double[] hp, double[] next, 
+		double hitChance, int[] damages, double[] hitDamageChances, 
+		int numDamages)
+	{
+		next[0] = hp[0];
+		for (int h = 1; h < hp.length; h++) {
+			next[h] = 0;
+		}
+		for (int h = 1; h < hp.length; h++) {
+			double chance = hp[h];
+			if (chance == 0) {
+				continue;
+			}
+			next[h] += chance * (1 - hitChance);
+			for (int k = 0; k < numDamages; k++) {
+				int left = h - damages[k];
+				next[left > 0 ? left : 0] += chance * hitDamageChances[k];
+			}
+		}
+	}
+
+	/**
+		Get the chance for one attack to hit (as in Monster.singleAttack).
+		Natural 20 always hits.
+	*/
+	private static double getHitChance(Monster attacker, Monster defender) {
+		int modifier = attacker.hasFeat(Feat.Berserking) ? 4 : 0;
+		int needed = HIT_TARGET - attacker.getAttack().getBonus()
+			- defender.getAC() - modifier;
+		int hits = HIT_DIE - Math.max(Math.min(needed, HIT_DIE), 1) + 1;
+		return (double) hits / HIT_DIE;
+	}
+
+	/**
+		Get chances of damage by one hit (as in Attack.rollDamage).
+		@return chance of each damage amount, by index
+	*/
+	private static double[] getDamageChances(Attack attack) {
+		Dice dice = attack.getDamage();
+		int floor = dice.getNum() <= 0 ? 0 : 1;
+		int max = Math.max(dice.maxRoll(), floor);
+		double[] chances = new double[max + 1];
+		chances[floor] = dice.cdf(floor);
+		for (int d = floor + 1; d <= max; d++) {
+			chances[d] = dice.prob(d);
+		}
+		return chances;
+	}
+
+	/**
+		Get chances of hit points for a new monster (as rolled on spawn).
+	*/
+	private static double[] hitDiceChances(Dice hitDice) {
+		int max = Math.max(hitDice.maxRoll(), 1);
+		double[] chances = new double[max + 1];
+		chances[1] = hitDice.cdf(1);
+		for (int h = 2; h <= max; h++) {
+			chances[h] = hitDice.prob(h);
+		}
+		return chances;
+	}
+
+	/**
+		Get chances for a known hit point total.
+	*/
+	private static double[] pointChances(int hitPoints) {
+		double[] chances = new double[hitPoints + 1];
+		chances[hitPoints] = 1.0;
+		return chances;
+	}
+
+	/**
+		Main test method.
+		Compares exact chances against simulated fights for some monster
+		types given on the command line (default a few plain types).
+	*/
+	public static void main(String[] args) {
+		String[] races = args.length >= 2 ? args
+			: new String[] { "Orc", "Gnoll", "Bugbear", "Ogre" };
+		MonsterDatabase mdb = MonsterDatabase.getInstance();
+		int numFights = 100000;
+		for (int i = 0; i < races.length; i++) {
+			for (int j = i + 1; j < races.length; j++) {
+				Monster type1 = mdb.getByRace(races[i]);
+				Monster type2 = mdb.getByRace(races[j]);
+				if (type1 == null || type2 == null) {
+					System.out.println("Unknown race: "
+						+ (type1 == null ? races[i] : races[j]));
+					continue;
+				}
+				if (!canSolve(type1, type2)) {
+					System.out.println(races[i] + " vs. " + races[j]
+						+ ": not solvable");
+					continue;
+				}
+				long start = System.nanoTime();
+				double exact = winChanceOfTypes(type1, type2);
+				long micros = (System.nanoTime() - start) / 1000;
+				int wins = 0;
+				for (int n = 0; n < numFights; n++) {
+					Party party1 = new Party(type1, 1);
+					Party party2 = new Party(type2, 1);
+					if (new FightManager(party1, party2).fight() == party1) {
+						wins++;
+					}
+				}
+				System.out.println(String.format(
+					"%s vs. %s: exact %.4f (%d us), simulated %.4f",
+					races[i], races[j], exact, micros,
+					(double) wins / numFights));
+			}
+		}
+	}
+}
@@ -126,7 +126,7 @@ public class DungeonTreasureTable {
 			treas.set(Treasure.Category.Gold, params.amtGold * Dice.roll(6));
 		}
 		Dice numGemJewelry = params.pctGemsJewelry < 40
-			? new Dice(1, 6) : new Dice(1, 12);
+			? Dice.of("1d6") : Dice.of("1d12");
 		if (Dice.rollPct() <= params.pctGemsJewelry) {
 			treas.set(Treasure.Category.Gems, 
 				numGemJewelry.roll() * GemsAndJewelry.randomGemValue());
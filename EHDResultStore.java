@@ -0,0 +1,233 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+	On-disk store of EHD assessment results.
+
+	Each result is keyed by a hash of the monster's database row together
+	with the simulation parameters it was measured under. So editing one
+	row of the database, or changing a parameter, misses only the affected
+	entries; everything else can be reused on the next run.
+
+	The store is one CSV file next to the monster database. Entries may be
+	looked up & added from many threads; save() should be called once all
+	assessments are done.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public class EHDResultStore {
+
+	//--------------------------------------------------------------------------
+	//  Inner class
+	//--------------------------------------------------------------------------
+
+	/** One stored assessment result. */
+	public static class Result {
+
+		/** Monster race (for human readers only). */
+		private final String race;
+
+		/** Date the result was computed. */
+		private final LocalDate date;
+
+		/** Estimated EHD. */
+		private final double ehd;
+
+		/** Number of fights run to get the result. */
+		private final long fights;
+
+		/** Equated fighters per level. */
+		private final double[] eqFighters;
+
+		/** Constructor. */
+		public Result(String race, LocalDate date, double ehd, long fights,
+			double[] eqFighters)
+		{
+			this.race = race;
+			this.date = date;
+			this.ehd = ehd;
+			this.fights = fights;
+			this.eqFighters = eqFighters.clone();
+		}
+
+		/** Get the date computed. */
+		public LocalDate getDate() { return date; }
+
+		/** Get the estimated EHD. */
+		public double getEHD() { return ehd; }
+
+		/** Get the number of fights run. */
+		public long getFights() { return fights; }
+
+		/** Get the equated fighters per level. */
+		public double[] getEquatedFighters() { return eqFighters.clone(); }
+	}
+
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** Suffix replacing ".csv" in the database name for the store file. */
+	private static final String FILE_SUFFIX = "-EHDStore.csv";
+
+	/** Version of the store format (bump to invalidate old entries). */
+	private static final int FORMAT_VERSION = 1;
+
+	/** Number of fields ahead of the equated fighters in a line. */
+	private static final int FIXED_FIELDS = 5;
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** File for the store. */
+	private final File file;
+
+	/** Results by key. */
+	private final Map<String, Result> results
+		= new ConcurrentHashMap<String, Result>();
+
+	/** Recompute results computed before this date (null = none). */
+	private LocalDate staleBefore;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor (read any existing store for a database file).
+		@param databaseFile name of the monster database file
+	*/
+	public EHDResultStore(String databaseFile) {
+		file = new File(getStoreFilename(databaseFile));
+		if (file.exists()) {
+			try {
+				load();
+			}
+			catch (IOException | RuntimeException e) {
+				System.err.println("Failed to read EHD result store; "
+					+ "starting a new one: " + file);
+				results.clear();
+			}
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Get the store filename for a database file.
+	*/
+	public static String getStoreFilename(String databaseFile) {
+		String base = databaseFile.toLowerCase().endsWith(".csv")
+			? databaseFile.substring(0, databaseFile.length() - 4)
+			: databaseFile;
+		return base + FILE_SUFFIX;
+	}
+
+	/**
+		Set a date before which stored results are recomputed.
+		Use today's date (or later) to recompute everything.
+	*/
+	public void setStaleBefore(LocalDate date) {
+		staleBefore = date;
+	}
+
+	/**
+		Make a key for a database row & parameter set.
+		@param row fields of the monster's database row
+		@param params description of all simulation parameters
+		@return hex string of a hash of the inputs
+	*/
+	public static String makeKey(String[] row, String params) {
+		String input = FORMAT_VERSION + "\n"
+			+ CSVReader.makeLineFromStrings(row) + "\n" + params;
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < 12; i++) {
+				sb.append(String.format("%02x", hash[i]));
+			}
+			return sb.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+		Get a stored result that's still current.
+		@return the result, or null if missing or stale
+	*/
+	public Result get(String key) {
+		Result result = results.get(key);
+		if (result != null && staleBefore != null
+				&& result.date.isBefore(staleBefore)) {
+			return null;
+		}
+		return result;
+	}
+
+	/**
+		Store a result.
+	*/
+	public void put(String key, Result result) {
+		results.put(key, result);
+	}
+
+	/**
+		Read the store file.
+	*/
+	private void load() throws IOException {
+		String[][] table = CSVReader.readFile(file.getPath(), "UTF-8");
+		for (int i = 1; i < table.length; i++) {
+			String[] s = table[i];
+			double[] eqFighters = new double[s.length - FIXED_FIELDS];
+			for (int j = 0; j < eqFighters.length; j++) {
+				eqFighters[j] = Double.parseDouble(s[FIXED_FIELDS + j]);
+			}
+			results.put(s[0], new Result(s[1], LocalDate.parse(s[2]),
+				Double.parseDouble(s[3]), Long.parseLong(s[4]), eqFighters));
+		}
+	}
+
+	/**
+		Write the store file (entries sorted by key).
+		@throws IOException if file write fails
+	*/
+	public void save() throws IOException {
+		Map<String, Result> sorted = new TreeMap<String, Result>(results);
+		try (PrintWriter out = new PrintWriter(file, "UTF-8")) {
+			out.println("Key,Race,Date,EHD,Fights,EF...");
+			for (Map.Entry<String, Result> entry: sorted.entrySet()) {
+				Result r = entry.getValue();
+				StringBuilder sb = new StringBuilder();
+				sb.append(entry.getKey() + ",\"" + r.race.replace("\"", "\"\"")
+					+ "\"," + r.date + "," + r.ehd + "," + r.fights);
+				for (double ef: r.eqFighters) {
+					sb.append("," + ef);
+				}
+				out.println(sb);
+			}
+		}
+	}
+
+	/**
+		Get the number of results stored.
+	*/
+	public int size() {
+		return results.size();
+	}
+}
@@ -53,6 +53,13 @@ public class Equipment {
 		this.weight = weight;
 		setMagicBonus(magic);
 	}
+
+	/**
+		Constructor (copy).
+	*/
+	Equipment(Equipment src) {
+		this(src.name, src.material, src.weight, src.magicBonus);
+	}
 	
 	//--------------------------------------------------------------------------
 	//  Methods
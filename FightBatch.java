@@ -0,0 +1,328 @@
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BooleanSupplier;
+
+/**
+	Runs a batch of independent fights, possibly across many cores.
+
+	Each fight in the batch gets its own RollContext, split in order from
+	the caller's context, so the result of fight number i does not depend on
+	which thread runs it. Fights also run in the caller's SimulationConfig,
+	which sets the number of threads for the batch. Results are tallied in
+	fight order against a stopping rule; once it triggers, fights not yet
+	started are cancelled, and any finished past that point are ignored.
+	So for a fixed seed the batch gives the same result for any number of
+	threads.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public class FightBatch {
+
+	//--------------------------------------------------------------------------
+	//  Inner interface
+	//--------------------------------------------------------------------------
+
+	/** Rule to stop a batch early (checked after each fight in order). */
+	public interface StopRule {
+
+		/**
+			Test if we should stop after a number of fights.
+			@return true if no more fights are needed
+		*/
+		boolean test(int fights, int wins);
+	}
+
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** Stopping rule that never triggers. */
+	public static final StopRule NEVER_STOP = (fights, wins) -> false;
+
+	/** Outcome code for a fight not yet finished. */
+	private static final int PENDING = 0;
+
+	/** Outcome code for a fight lost. */
+	private static final int LOSS = 1;
+
+	/** Outcome code for a fight won. */
+	private static final int WIN = 2;
+
+	//--------------------------------------------------------------------------
+	//  Static Fields
+	//--------------------------------------------------------------------------
+
+	/** 
+		Shared pools for parallel batches, by number of threads.
+		Never shut down, so runs with any settings may share them.
+	*/
+	private static final Map<Integer, ForkJoinPool> pools
+		= new ConcurrentHashMap<Integer, ForkJoinPool>();
+
+	/** Have shared data tables been loaded? */
+	private static boolean tablesLoaded = false;
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Function to run one fight; returns true on a win. */
+	private final BooleanSupplier fight;
+
+	/** Number of fights in the batch. */
+	private final int numFights;
+
+	/** Rule to stop the batch early. */
+	private final StopRule stopRule;
+
+	/** Random number context for each fight. */
+	private final RollContext[] contexts;
+
+	/** Simulation config of the caller. */
+	private final SimulationConfig config;
+
+	/** Number of threads to use (1 = run in caller's thread). */
+	private final int numThreads;
+
+	/** Job output target of the caller (see JobOutput). */
+	private final OutputStream output;
+
+	/** Outcome of each fight. */
+	private final AtomicIntegerArray outcomes;
+
+	/** Next fight to be started. */
+	private final AtomicInteger nextFight;
+
+	/** Flag that the stopping rule has triggered. */
+	private volatile boolean cancelled;
+
+	/** Fights tallied in order (guarded by this). */
+	private int fightsTallied;
+
+	/** Wins tallied in order (guarded by this). */
+	private int winsTallied;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor.
+		@param fight function to run one fight, returning true on a win
+		@param numFights maximum number of fights to run
+		@param stopRule rule to stop the batch early
+	*/
+	public FightBatch(BooleanSupplier fight, int numFights, StopRule stopRule) {
+		this.fight = fight;
+		this.numFights = numFights;
+		this.stopRule = stopRule;
+		config = SimulationConfig.current();
+		numThreads = config.getFightThreads();
+		output = JobOutput.getTarget();
+		RollContext base = RollContext.current();
+		contexts = new RollContext[numFights];
+		for (int i = 0; i < numFights; i++) {
+			contexts[i] = base.split();
+		}
+		outcomes = new AtomicIntegerArray(numFights);
+		nextFight = new AtomicInteger();
+	}
+
+	/**
+		Constructor (no early stopping).
+	*/
+	public FightBatch(BooleanSupplier fight, int numFights) {
+		this(fight, numFights, NEVER_STOP);
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Get the shared pool for a given number of threads.
+	*/
+	private static ForkJoinPool getPool(int threads) {
+		return pools.computeIfAbsent(threads, 
+			n -> new ForkJoinPool(n, PoolThread::new, null, false));
+	}
+
+	/**
+		Load the shared data tables used in fights.
+		These are lazy singletons, so we touch them here in one thread
+		before any workers might race to create them.
+	*/
+	public static synchronized void loadTables() {
+		if (!tablesLoaded) {
+			ClassIndex.getInstance();
+			DungeonTreasureTable.getInstance();
+			Languages.getInstance();
+			MonsterDatabase.getInstance();
+			MonsterTables.getInstance();
+			MonsterTreasureTable.getInstance();
+			NameGenerator.getInstance();
+			PersonalityTraits.getInstance();
+			SavingThrows.getInstance();
+			SpellsDaily.getInstance();
+			SpellsIndex.getInstance();
+			Wands.getInstance();
+			XPAwardTable.getInstance();
+			tablesLoaded = true;
+		}
+	}
+
+	/**
+		Run the batch of fights.
+	*/
+	public void run() {
+		if (numThreads <= 1 || numFights <= 1) {
+			runSequential();
+		}
+		else {
+			runParallel();
+		}
+	}
+
+	/**
+		Run fights one after another in this thread.
+	*/
+	private void runSequential() {
+		for (int i = 0; i < numFights && !cancelled; i++) {
+			runFight(i);
+		}
+	}
+
+	/**
+		Run fights on the shared pool.
+		If we are already in a pool worker (a nested batch),
+		then fork our workers into that same pool.
+	*/
+	private void runParallel() {
+		loadTables();
+		int numWorkers = Math.min(numThreads, numFights);
+		List<RecursiveAction> workers = new ArrayList<RecursiveAction>();
+		for (int i = 0; i < numWorkers; i++) {
+			workers.add(new Worker());
+		}
+		if (ForkJoinTask.inForkJoinPool()) {
+			ForkJoinTask.invokeAll(workers);
+		}
+		else {
+			getPool(numThreads).invoke(new RecursiveAction() {
+				protected void compute() {
+					invokeAll(workers);
+				}
+			});
+		}
+	}
+
+	/**
+		Worker task: take fights in order until done or cancelled.
+	*/
+	private class Worker extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		protected void compute() {
+			OutputStream previous = JobOutput.setTarget(output);
+			try {
+				while (!cancelled) {
+					int i = nextFight.getAndIncrement();
+					if (i >= numFights) {
+						break;
+					}
+					runFight(i);
+				}
+			}
+			finally {
+				JobOutput.setTarget(previous);
+			}
+		}
+	}
+
+	/**
+		Thread for the shared pools.
+		Drops any job output target inherited from the thread that made
+		it, since the pool outlives that job; each task sets its own.
+	*/
+	private static class PoolThread extends ForkJoinWorkerThread {
+
+		/** Constructor. */
+		PoolThread(ForkJoinPool pool) {
+			super(pool);
+		}
+
+		@Override
+		protected void onStart() {
+			super.onStart();
+			JobOutput.setTarget(null);
+		}
+	}
+
+	/**
+		Run one fight in its own random context & record outcome.
+	*/
+	private void runFight(int i) {
+		RollContext previous = RollContext.install(contexts[i]);
+		SimulationConfig previousConfig = SimulationConfig.install(config);
+		try {
+			outcomes.set(i, fight.getAsBoolean() ? WIN : LOSS);
+		}
+		finally {
+			SimulationConfig.install(previousConfig);
+			RollContext.install(previous);
+		}
+		tallyOutcomes();
+	}
+
+	/**
+		Tally finished fights in order, checking the stopping rule.
+	*/
+	private synchronized void tallyOutcomes() {
+		while (!cancelled && fightsTallied < numFights) {
+			int outcome = outcomes.get(fightsTallied);
+			if (outcome == PENDING) {
+				break;
+			}
+			fightsTallied++;
+			if (outcome == WIN) {
+				winsTallied++;
+			}
+			if (stopRule.test(fightsTallied, winsTallied)) {
+				cancelled = true;
+			}
+		}
+	}
+
+	/**
+		Get the number of fights counted in the result.
+	*/
+	public synchronized int getFights() {
+		return fightsTallied;
+	}
+
+	/**
+		Get the number of wins counted in the result.
+	*/
+	public synchronized int getWins() {
+		return winsTallied;
+	}
+
+	/**
+		Get the ratio of wins to fights counted.
+	*/
+	public synchronized double getWinRatio() {
+		return fightsTallied > 0
+			? (double) winsTallied / fightsTallied : 0.0;
+	}
+}
@@ -0,0 +1,70 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+	Fight listener to count events by kind (e.g., for metrics).
+	Safe to share among threads running fights at once.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public class FightEventCounter implements FightListener {
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Count of each kind of event, by ordinal. */
+	private final LongAdder[] counts;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor.
+	*/
+	public FightEventCounter() {
+		counts = new LongAdder[Event.values().length];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = new LongAdder();
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Count one fight event.
+	*/
+	public void onEvent(Event event, Monster subject, Object detail,
+		int amount)
+	{
+		counts[event.ordinal()].increment();
+	}
+
+	/**
+		Get the count for one kind of event.
+	*/
+	public long getCount(Event event) {
+		return counts[event.ordinal()].sum();
+	}
+
+	/**
+		Identify this object as a string (nonzero counts).
+	*/
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (Event event: Event.values()) {
+			long count = getCount(event);
+			if (count > 0) {
+				if (sb.length() > 0) {
+					sb.append(", ");
+				}
+				sb.append(event + " " + count);
+			}
+		}
+		return "Fight events: " + (sb.length() > 0 ? sb : "none");
+	}
+}
@@ -0,0 +1,92 @@
+/**
+	Listener for events in fights (play-by-play).
+
+	Events carry only references to existing objects and a primitive
+	amount, so emitting one allocates nothing; and no event is emitted
+	at all unless a listener is set in FightManager. Any text is made
+	by the listener, only if & when it wants it.
+
+	A listener set for bulk runs may be called from many threads at once.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public interface FightListener {
+
+	//--------------------------------------------------------------------------
+	//  Enumerations
+	//--------------------------------------------------------------------------
+
+	/** 
+		Kinds of fight event.
+		Fields used by each are noted (subject, detail, amount).
+	*/
+	enum Event {
+
+		/** New round (-, FightManager, turn number). */
+		StartRound,
+
+		/** Winner called (-, winning Party, -). */
+		Winner,
+
+		/** Condition taken (Monster, SpecialType, -). */
+		TakeCondition,
+
+		/** Condition lost (Monster, SpecialType, -). */
+		LoseCondition,
+
+		/** Energy damage taken (Monster, EnergyType, damage). */
+		EnergyDamage,
+
+		/** Minions summoned (Monster, minion Monster type, number). */
+		Summons,
+
+		/** Illusion or conjuration dispelled (Monster, -, -). */
+		Dispelled,
+
+		/** Attached to a host (Monster, host Monster, -). */
+		Attached,
+
+		/** Spell cast (Monster, Spell, -). */
+		CastSpell,
+
+		/** Concentration on a puppet lost (Monster, -, -). */
+		LoseConcentration,
+
+		/** Puppet goes out of control (Monster, -, -). */
+		OutOfControl
+	};
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Handle one fight event.
+		@param event kind of event
+		@param subject monster the event is about (null if none)
+		@param detail other object in the event (null if none)
+		@param amount number in the event (0 if none)
+	*/
+	void onEvent(Event event, Monster subject, Object detail, int amount);
+
+	/**
+		Make a listener that passes each event to two others in turn.
+		@param first first listener (null if none)
+		@param second second listener (null if none)
+		@return the combined listener (or the other if one is null)
+	*/
+	static FightListener both(FightListener first, FightListener second) {
+		if (first == null) {
+			return second;
+		}
+		if (second == null) {
+			return first;
+		}
+		return (event, subject, detail, amount) -> {
+			first.onEvent(event, subject, detail, amount);
+			second.onEvent(event, subject, detail, amount);
+		};
+	}
+}
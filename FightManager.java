@@ -16,15 +16,12 @@ public class FightManager {
 	//--------------------------------------------------------------------------
 
 	/** Default maximum turns allowed in a fight. */
-	private static final int DEFAULT_MAX_TURNS = 20;
+	static final int DEFAULT_MAX_TURNS = 20;
 
 	//--------------------------------------------------------------------------
 	//  Fields
 	//--------------------------------------------------------------------------
 
-	/** Report play-by-play action for fights. */
-	private static boolean reportPlayByPlay;
-
 	/** Maximum turns allowed in thus fight. */
 	private int maxTurns = DEFAULT_MAX_TURNS;
 
@@ -68,35 +65,40 @@ public class FightManager {
 	//--------------------------------------------------------------------------
 
 	/**
-		Set play-by-play reporting.
+		Report a fight event to the listener, if any.
+		The listener is set in the current simulation config.
+		See FightListener.Event for the fields used by each.
 	*/
-	public static void setPlayByPlayReporting(boolean report) {
-		reportPlayByPlay = report; 
+	public static void report(FightListener.Event event, Monster subject,
+		Object detail, int amount)
+	{
+		FightListener listener = SimulationConfig.current().getFightListener();
+		if (listener != null) {
+			listener.onEvent(event, subject, detail, amount);
+		}
 	}
 
 	/**
-		Get play-by-play reporting.
+		Report a fight event with no amount.
 	*/
-	private static boolean getPlayByPlayReporting() {
-		return reportPlayByPlay; 
+	public static void report(FightListener.Event event, Monster subject,
+		Object detail)
+	{
+		report(event, subject, detail, 0);
 	}
 
 	/**
-		Report a special event.
+		Report a fight event about one monster alone.
 	*/
-	public static void report(String s) {
-		if (reportPlayByPlay) {
-			System.out.println(s);
-		}
+	public static void report(FightListener.Event event, Monster subject) {
+		report(event, subject, null, 0);
 	}
 
 	/**
 		Report play-by-play status.
 	*/
 	private void reportState() {
-		if (reportPlayByPlay) {
-			System.out.println(this);
-		}
+		report(FightListener.Event.StartRound, null, this, turnCount);
 	}
 
 	/**
@@ -181,9 +183,7 @@ public class FightManager {
 		}
 		
 		// Report if desired
-		if (reportPlayByPlay) {
-			System.out.println("* Winner is " + winner + "\n");
-		}
+		report(FightListener.Event.Winner, null, winner);
 	}
 
 	/**
@@ -0,0 +1,58 @@
+/**
+	Fight listener to print play-by-play text to standard output.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public class FightReporter implements FightListener {
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Print one fight event.
+	*/
+	public void onEvent(Event event, Monster subject, Object detail,
+		int amount)
+	{
+		String s = format(event, subject, detail, amount);
+		if (s != null) {
+			System.out.println(s);
+		}
+	}
+
+	/**
+		Format one fight event as text.
+		@return the text (null if nothing to print)
+	*/
+	public static String format(Event event, Monster subject, Object detail,
+		int amount)
+	{
+		switch (event) {
+			case StartRound: return detail.toString();
+			case Winner: return "* Winner is " + detail + "\n";
+			case TakeCondition:
+				return subject.getRace() + " takes condition " + detail;
+			case LoseCondition:
+				return subject.getRace() + " loses condition " + detail;
+			case EnergyDamage:
+				return subject.getRace() + " takes damage from " 
+					+ detail + " (" + amount + " points)";
+			case Summons:
+				return subject.getRace() + " summons "
+					+ ((Monster) detail).getNameWithNum(amount);
+			case Dispelled: return subject.getRace() + " is dispelled";
+			case Attached:
+				return subject.getRace() + " is attached to " 
+					+ ((Monster) detail).getRace();
+			case CastSpell: return subject.getRace() + " casts " + detail;
+			case LoseConcentration:
+				return subject.getRace() + " loses concentration";
+			case OutOfControl:
+				return subject.getRace() + " goes out of control";
+			default: return null;
+		}
+	}
+}
@@ -66,9 +66,9 @@ public class GemsAndJewelry {
 	*/
 	static Dice getJewelryClassDice(int jewelryClass) {
 		switch (jewelryClass) {
-			case 1: return new Dice(3, 6, 100, 0);
-			case 2: return new Dice(1, 6, 1000, 0);
-			case 3: return new Dice(1, 10, 1000, 0);
+			case 1: return Dice.of("3d6x100");
+			case 2: return Dice.of("1d6x1000");
+			case 3: return Dice.of("1d10x1000");
 			default: System.err.println("Invalid jewelry class");
 		}
 		return null;
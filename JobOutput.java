@@ -0,0 +1,90 @@
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+	Output stream that writes to the current thread's job, if any.
+
+	Used by the server to send each job's output back to it (see
+	AthenaServer). Threads started by a job inherit its target, and send
+	output to it also. Pooled threads shared between jobs must not keep
+	a target: they drop any inherited on start, and set it only around
+	each task (see FightBatch).
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-17
+*/
+
+public class JobOutput extends OutputStream {
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Stream for the job run by each thread. */
+	private static final InheritableThreadLocal<OutputStream> target
+		= new InheritableThreadLocal<OutputStream>();
+
+	/** Stream for output not from any job. */
+	private final OutputStream console;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor.
+		@param console stream for output not from any job
+	*/
+	public JobOutput(OutputStream console) {
+		this.console = console;
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Get the job output target of the current thread.
+		@return the target, or null if none
+	*/
+	public static OutputStream getTarget() {
+		return target.get();
+	}
+
+	/**
+		Set the job output target of the current thread.
+		@param out the target (null for none)
+		@return the target previously set
+	*/
+	public static OutputStream setTarget(OutputStream out) {
+		OutputStream previous = target.get();
+		if (out == null) {
+			target.remove();
+		}
+		else {
+			target.set(out);
+		}
+		return previous;
+	}
+
+	/** Get stream for the current thread. */
+	private OutputStream getStream() {
+		OutputStream out = target.get();
+		return out != null ? out : console;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		getStream().write(b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		getStream().write(b, off, len);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		getStream().flush();
+	}
+}
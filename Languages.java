@@ -1,7 +1,6 @@
 import java.io.IOException; 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Arrays;
 
 /**
@@ -101,7 +100,7 @@ public class Languages {
 		assert number <= languageList.length;
 		ArrayList<Language> copyList = 
 			new ArrayList<Language>(Arrays.asList(languageList));
-		Collections.shuffle(copyList);
+		Dice.shuffle(copyList);
 		return copyList.subList(0, number);
 	}
 
@@ -14,7 +14,7 @@ public class Marshal {
 	//--------------------------------------------------------------------------
 
 	/** Dice for men number appearing, as per Vol-2. */
-	static final Dice NA_DICE = new Dice(3, 10, 10, 0);
+	static final Dice NA_DICE = new Dice(3, 10, 10, 0).compile();
 
 	/**
 		Fight cycles per man to simulate.
@@ -60,6 +60,9 @@ public class Marshal {
 	/** Flag to escape after parsing arguments. */
 	private boolean exitAfterArgs;
 
+	/** Simulation config for this run. */
+	private SimulationConfig config;
+
 	//--------------------------------------------------------------------------
 	//  Constructors
 	//--------------------------------------------------------------------------
@@ -70,8 +73,9 @@ public class Marshal {
 	public Marshal() {
 		Dice.initialize();
 		menType = null;
-		menTotal = NA_DICE.roll();
+		menTotal = 0;
 		exitAfterArgs = false;		
+		config = SimulationConfig.current();
 	}
 
 	//--------------------------------------------------------------------------
@@ -95,6 +99,8 @@ public class Marshal {
 		System.out.println("  where options include:");
 		System.out.println("\t-f include OED feats");
 		System.out.println("\t-w use fighter sweep attacks (by level vs. 1 HD)");
+		System.out.println("\t-S seed random numbers for a reproducible run "
+			+ "(=#)");
 		System.out.println();
 	}
 
@@ -105,8 +111,9 @@ public class Marshal {
 		for (String s: args) {
 			if (s.length() > 1 && s.charAt(0) == '-') {
 				switch (s.charAt(1)) {
-					case 'f': Character.setFeatUsage(true); break;
-					case 'w': Character.setSweepAttacks(true); break;
+					case 'f': config = config.withFeats(true); break;
+					case 'w': config = config.withSweepAttacks(true); break;
+					case 'S': Dice.setSeed(getParamInt(s)); break;
 					default: exitAfterArgs = true; break;
 				}
 			}
@@ -122,6 +129,21 @@ public class Marshal {
 		}
 	}
 
+	/**
+		Get integer following equals sign in command parameter.
+	*/
+	private int getParamInt(String s) {
+		if (s.length() > 3 && s.charAt(2) == '=') {
+			try {
+				return Integer.parseInt(s.substring(3));
+			}
+			catch (NumberFormatException e) {
+			}
+		}
+		exitAfterArgs = true;
+		return -1;
+	}
+
 	/**
 		Should we exit after parsing arguments?
 	*/
@@ -133,6 +155,9 @@ public class Marshal {
 		Main method.
 	*/
 	private void assembleMen() {
+		if (menTotal <= 0) {
+			menTotal = NA_DICE.roll();
+		}
 		runArena();
 		reportHeader();
 		reportWizard();
@@ -173,10 +198,16 @@ public class Marshal {
 		{
 			int level = (Dice.roll(6) <= 4 ? 10 : 11);
 			Character w = new Character("Human", "Wizard", level, null);
-			Character.setPctMagicPerLevel(PCT_WIZARD_MAGIC_PER_LEVEL);
 			w.setAlignment(Alignment.randomBias(menType.getAlignment()));
 			w.setBasicEquipment();
-			w.boostMagicItemsToLevel();
+			SimulationConfig previous = SimulationConfig.install(
+				config.withPctMagicPerLevel(PCT_WIZARD_MAGIC_PER_LEVEL));
+			try {
+				w.boostMagicItemsToLevel();
+			}
+			finally {
+				SimulationConfig.install(previous);
+			}
 			System.out.println(w);
 		}	
 	}
@@ -210,6 +241,7 @@ public class Marshal {
 		Marshal marshal = new Marshal();
 		marshal.printBanner();
 		marshal.parseArgs(args);
+		SimulationConfig.install(marshal.config);
 		if (marshal.exitAfterArgs()) {
 			marshal.printUsage();
 		}
@@ -0,0 +1,221 @@
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+	Memo table of fight results for matchups already measured.
+
+	Results are stored per monster type, so one monster's table can be
+	dropped when we're done with it. Tables may be shared by many threads.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public class MatchupCache {
+
+	//--------------------------------------------------------------------------
+	//  Inner classes
+	//--------------------------------------------------------------------------
+
+	/** Tally of fights & wins at one matchup. */
+	public static class Tally {
+
+		/** Number of fights run. */
+		private final int fights;
+
+		/** Number of fights won. */
+		private final int wins;
+
+		/** Exact ratio for a degenerate matchup (no fights needed). */
+		private final double exactRatio;
+
+		/** Constructor (sampled). */
+		Tally(int fights, int wins) {
+			this.fights = fights;
+			this.wins = wins;
+			this.exactRatio = Double.NaN;
+		}
+
+		/** Constructor (exact). */
+		Tally(double exactRatio) {
+			this.fights = 0;
+			this.wins = 0;
+			this.exactRatio = exactRatio;
+		}
+
+		/** Get number of fights. */
+		public int getFights() { return fights; }
+
+		/** Get number of wins. */
+		public int getWins() { return wins; }
+
+		/** Is this an exact (degenerate) result? */
+		public boolean isExact() { return fights == 0; }
+
+		/** Get the win ratio. */
+		public double getRatio() {
+			return isExact() ? exactRatio : (double) wins / fights;
+		}
+
+		/** Get tally for the opposing side. */
+		public Tally invert() {
+			return isExact()
+				? new Tally(1 - exactRatio) : new Tally(fights, fights - wins);
+		}
+	}
+
+	/** Key for one matchup of monsters vs. fighters. */
+	public static final class Key {
+
+		/** Monster type. */
+		private final Monster monster;
+
+		/** Number of monsters. */
+		private final int monNumber;
+
+		/** Level of fighters. */
+		private final int ftrLevel;
+
+		/** Number of fighters. */
+		private final int ftrNumber;
+
+		/** Armor worn by fighters. */
+		private final Armor.Type armor;
+
+		/** Denominator for fraction of wizards. */
+		private final int wizardRatio;
+
+		/** Do fighters use sweep attacks? */
+		private final boolean sweep;
+
+		/** Constructor. */
+		public Key(Monster monster, int monNumber, int ftrLevel, int ftrNumber,
+			Armor.Type armor, int wizardRatio, boolean sweep)
+		{
+			this.monster = monster;
+			this.monNumber = monNumber;
+			this.ftrLevel = ftrLevel;
+			this.ftrNumber = ftrNumber;
+			this.armor = armor;
+			this.wizardRatio = wizardRatio;
+			this.sweep = sweep;
+		}
+
+		/** Check equality. */
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key k = (Key) o;
+			return monster == k.monster
+				&& monNumber == k.monNumber
+				&& ftrLevel == k.ftrLevel
+				&& ftrNumber == k.ftrNumber
+				&& armor == k.armor
+				&& wizardRatio == k.wizardRatio
+				&& sweep == k.sweep;
+		}
+
+		/** Get hash code. */
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(monster),
+				monNumber, ftrLevel, ftrNumber, armor, wizardRatio, sweep);
+		}
+	}
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Tables of results for each monster type. */
+	private final Map<Monster, Map<Key, Tally>> tables
+		= new ConcurrentHashMap<Monster, Map<Key, Tally>>();
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Get the table for a monster type.
+	*/
+	private Map<Key, Tally> getTable(Monster monster) {
+		return tables.computeIfAbsent(monster,
+			m -> new ConcurrentHashMap<Key, Tally>());
+	}
+
+	/**
+		Get a stored result.
+		@return the tally, or null if not measured yet
+	*/
+	public Tally get(Key key) {
+		return getTable(key.monster).get(key);
+	}
+
+	/**
+		Store a result.
+	*/
+	public void put(Key key, Tally tally) {
+		getTable(key.monster).put(key, tally);
+	}
+
+	/**
+		Drop all results for a monster type.
+	*/
+	public void clear(Monster monster) {
+		tables.remove(monster);
+	}
+
+	/**
+		Pool a series of tallies to be monotone in order.
+		Uses the pool-adjacent-violators algorithm, weighted by fights;
+		exact entries are left as-is and not pooled.
+		@param series tallies in order of the varying parameter
+		@param increasing true if ratios should increase along the series
+		@return pooled ratio for each entry
+	*/
+	public static double[] poolMonotone(Tally[] series, boolean increasing) {
+		int n = series.length;
+		double[] ratios = new double[n];
+		int[] blockStart = new int[n];
+		long[] blockFights = new long[n];
+		long[] blockWins = new long[n];
+		int numBlocks = 0;
+		for (int i = 0; i < n; i++) {
+			Tally t = series[i];
+			if (t.isExact()) {
+				ratios[i] = t.getRatio();
+				continue;
+			}
+			blockStart[numBlocks] = i;
+			blockFights[numBlocks] = t.getFights();
+			blockWins[numBlocks] = t.getWins();
+			numBlocks++;
+
+			// Merge back while the last two blocks are out of order
+			while (numBlocks > 1) {
+				int b = numBlocks - 1;
+				double prev = (double) blockWins[b - 1] / blockFights[b - 1];
+				double last = (double) blockWins[b] / blockFights[b];
+				if (increasing ? prev <= last : prev >= last) {
+					break;
+				}
+				blockFights[b - 1] += blockFights[b];
+				blockWins[b - 1] += blockWins[b];
+				numBlocks--;
+			}
+		}
+
+		// Assign block ratios to sampled entries
+		for (int b = 0; b < numBlocks; b++) {
+			int end = (b + 1 < numBlocks) ? blockStart[b + 1] : n;
+			double ratio = (double) blockWins[b] / blockFights[b];
+			for (int i = blockStart[b]; i < end; i++) {
+				if (!series[i].isExact()) {
+					ratios[i] = ratio;
+				}
+			}
+		}
+		return ratios;
+	}
+}
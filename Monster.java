@@ -1,12 +1,5 @@
-import java.util.Set;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.EnumSet;
-import java.util.EnumMap;
-import java.util.AbstractMap;
-import java.util.Collections;
-import java.util.regex.Pattern;
-import java.util.regex.Matcher;
 
 /**
 	Monster (hostile or benign creature).
@@ -17,18 +10,40 @@ import java.util.regex.Matcher;
 
 public class Monster {
 
+	//--------------------------------------------------------------------------
+	//  Inner class
+	//--------------------------------------------------------------------------
+
+	/**
+		Stat blocks for creatures conjured by spells.
+		Hard-coded in case of tests against alternate monster databases 
+		which lack them; parsed once, on first use.
+	*/
+	private static class ConjuredTypes {
+
+		/** Conjured elemental. */
+		private static final MonsterType ELEMENTAL = new MonsterType(
+			("Large Earth Elemental,1,2,6,16"
+			+ ",-,-,1,3d6,N,X,36,16,X,O,MagicToHit (2)").split(","));
+
+		/** Phantasmal force. */
+		private static final MonsterType PHANTASM = new MonsterType(
+			("Phantasm,1,9,12,1/6"
+			+ ",-,-,1,1d6,N,X,1,0.2,D,O,-").split(","));
+	}
+
 	//--------------------------------------------------------------------------
 	//  Constants
 	//--------------------------------------------------------------------------
 
 	/** Sides on standard hit dice. */
-	private static final int BASE_HIT_DIE = 6;
+	static final int BASE_HIT_DIE = 6;
 
 	/** 
 		Maximum enemies who can melee us at once.
 		As per 1E DMG p. 69 (assumes same-size attackers)
 	*/
-	private static final int MAX_MELEERS = 6;
+	static final int MAX_MELEERS = 6;
 
 	/** Sentinel value for undefined EHD in database. */
 	public static final int UNDEFINED_EHD = -1;
@@ -36,65 +51,31 @@ public class Monster {
 	/** Is fighting while swallowed in another monster allowed? */
 	private static final boolean FIGHT_SWALLOWED = true;
 
-	//--------------------------------------------------------------------------
-	//  Static Fields
-	//--------------------------------------------------------------------------
-
-	/** Should we print EHD values in stat blocks? */
-	private static boolean printEHDs = false;
-
-	/** Should we print hit point values i stat blocks? */
-	private static boolean printHitPoints = false;
-
 	//--------------------------------------------------------------------------
 	//  Fields
 	//--------------------------------------------------------------------------
 
+	/** Shared stat block for our type. */
+	private MonsterType type;
+
 	/** Racial descriptor. */
 	protected String race;
 	
-	/** Source rulebook code. */
-	private String sourceBook;
-	
-	/** 
-		Monster type code.
-		(e.g., [A]nimal, [B]east, etc.). 
-	*/
-	private char typeCode;
-	
-	/** 
-		Environment code.
-		(e.g., [D]ungeon, [W]ilderness, etc.). 
-	*/
-	private char environment;
-	
-	/** Dice for number appearing. */
-	private Dice numberAppearing;
-	
 	/** Armor class. */
 	protected int armorClass;
 	
 	/** Movement rate in inches. */
 	protected int moveInches;
 	
-	/** Hit dice. */
+	/** Hit dice (may be shared with type until modified). */
 	protected Dice hitDice;
 	
-	/** In-lair percentage. */
-	private int inLairPct;
-	
-	/** Treasure type code. */
-	private char treasureType;
-	
-	/** Primary attack form. */
+	/** Primary attack form (may be shared with type until modified). */
 	protected Attack primaryAttack;
 	
 	/** Alignment. */
 	protected Alignment alignment;
 	
-	/** Hit dice in decimal representation. */
-	private float hitDiceDecimal;
-	
 	/** 
 		Equivalent hit dice.
 		(Challenge rating analog.)
@@ -113,9 +94,6 @@ public class Monster {
 	/** Breath charges available. */
 	private int breathCharges;
 	
-	/** Tally of kills scored. */
-	private int killTally;
-	
 	/** Times we've been attacked this round. */
 	private int timesMeleed;
 	
@@ -128,17 +106,8 @@ public class Monster {
 	/** Puppet monster that we are controlling. */
 	private Monster puppet;
 	
-	/** String representation of our special abilities. */
-	private String specialsString;
-
-	/** List of our special abilities. */
-	private Set<SpecialType> specialList;
-	
-	/** List of our special conditions. */
-	private Set<SpecialType> conditionList;
-	
-	/** Values (parameters) for our special abilities. */
-	private AbstractMap<SpecialType, Integer> specialValues;
+	/** Set of our special conditions. */
+	private SpecialSet conditions;
 	
 	/** Record of spells we have in memory. */
 	private SpellMemory spellMemory;
@@ -160,6 +129,7 @@ public class Monster {
 		Fairly basic constructor (for testing).
 	*/
 	public Monster(String race, int ac, int move, Dice hitDice, Attack attack) {
+		this.type = new MonsterType(race, ac, move, hitDice, attack);
 		this.race = race;
 		this.armorClass = ac;
 		this.moveInches = move;
@@ -167,74 +137,63 @@ public class Monster {
 		this.primaryAttack = attack;
 		this.alignment = Alignment.Neutral;
 		equivalentHitDice = hitDice.getNum();
-		specialList = EnumSet.noneOf(SpecialType.class);
-		conditionList = EnumSet.noneOf(SpecialType.class);
-		specialValues = new EnumMap<SpecialType, Integer>(SpecialType.class);
+		conditions = new SpecialSet();
 		rollHitPoints();
 	}
 
 	/**
 		Create a prototype monster from text file specification.
+		@param s specification string array.
+	*/
+	public Monster(String[] s) {
+		this(new MonsterType(s));
+	}
+
+	/**
+		Create a prototype monster of a given type.
 
 		Some values are left undefined by this method:
 		E.g., dragon random ages (and hp), spells memorized.
 		For those, see the spawn() function.
 
-		@param s specification string array.
-	*/
-	public Monster(String[] s) {
-
-		// Primary fields
-		race = s[0];
-		numberAppearing = new Dice(s[1]);
-		armorClass = CSVReader.parseInt(s[2]);
-		moveInches = CSVReader.parseInt(s[3]);
-		hitDice = parseHitDice(s[4]);
-		inLairPct = CSVReader.parseInt(s[5]);
-		treasureType = s[6].charAt(0);
-		primaryAttack = parseAttackRoutine(s[7], s[8]);
-		alignment = Alignment.getFromChar(s[9].charAt(0));
-		typeCode = s[10].charAt(0);
-		equivalentHitDice = parseEHD(s[11]);
-		hitDiceDecimal = parseFloat(s[12]);
-		environment = s[13].charAt(0);
-		sourceBook = s[14];
-		specialsString = s[15];
-
-		// Special abilities & conditions
-		specialList = EnumSet.noneOf(SpecialType.class);
-		conditionList = EnumSet.noneOf(SpecialType.class);
-		specialValues = new EnumMap<SpecialType, Integer>(SpecialType.class);
-		setSpecialAbilities();
-
-		// Other fields
+		@param type shared type record
+	*/
+	public Monster(MonsterType type) {
+		this.type = type;
+		race = type.getRace();
+		armorClass = type.getArmorClass();
+		moveInches = type.getMoveInches();
+		hitDice = type.getHitDice();
+		primaryAttack = type.getAttack();
+		alignment = type.getAlignment();
+		equivalentHitDice = type.getEquivalentHitDice();
+		conditions = new SpecialSet();
+		if (hasSpecial(SpecialType.Dragon)) {
+			dragonAge = parseDragonAge();
+		}
 		spellMemory = null;
 		setAverageHitPoints();
 	}
 
 	/**
 		Constructor (copy).
+		Shares the type stat block, along with hit dice & attack 
+		unless the source has modified its own.
 	*/
 	public Monster(Monster src) {
+		type = src.type;
 		race = src.race;
-		numberAppearing = src.numberAppearing;
 		armorClass = src.armorClass;
 		moveInches = src.moveInches;
-		hitDice = src.hitDice;
-		inLairPct = src.inLairPct;
-		treasureType = src.treasureType;
-		primaryAttack = src.primaryAttack;
+		hitDice = (src.hitDice == type.getHitDice()) 
+			? src.hitDice : new Dice(src.hitDice);
+		primaryAttack = (src.primaryAttack == type.getAttack()
+				|| src.primaryAttack == null)
+			? src.primaryAttack : new Attack(src.primaryAttack);
 		alignment = src.alignment;
-		typeCode = src.typeCode;
 		equivalentHitDice = src.equivalentHitDice;
-		sourceBook = src.sourceBook;
-		hitDiceDecimal = src.hitDiceDecimal;
-		killTally = src.killTally;
 		host = src.host;
-		specialsString = src.specialsString;
-		specialList = EnumSet.copyOf(src.specialList);
-		conditionList = EnumSet.copyOf(src.conditionList);
-		specialValues = new EnumMap<SpecialType, Integer>(src.specialValues);
+		conditions = new SpecialSet(src.conditions);
 		maxHitPoints = src.maxHitPoints;
 		hitPoints = src.hitPoints;
 		breathCharges = src.breathCharges;
@@ -248,22 +207,23 @@ public class Monster {
 
 	// Primary accessors
 	public String getRace() { return race; }
-	public String getSourceBook() { return sourceBook; }
-	public Dice getNumberAppearing() { return numberAppearing; }
+	public MonsterType getMonsterType() { return type; }
+	public String getSourceBook() { return type.getSourceBook(); }
+	public Dice getNumberAppearing() { return type.getNumberAppearing(); }
 	public int getArmorClass() { return armorClass; }
 	public int getHitPoints() { return hitPoints; }
 	public int getMaxHitPoints() { return maxHitPoints; }
-	public int getInLairPct() { return inLairPct; }
+	public int getInLairPct() { return type.getInLairPct(); }
 	public Dice getHitDice() { return hitDice; }
 	public int getHitDiceNum() { return hitDice.getNum(); }
 	public int getLevel() { return getHitDiceNum(); }
-	public char getTreasureType() { return treasureType; }
+	public char getTreasureType() { return type.getTreasureType(); }
 	public Attack getAttack() { return primaryAttack; }
 	public Alignment getAlignment() { return alignment; }
-	public char getType() { return typeCode; }
+	public char getType() { return type.getTypeCode(); }
 	public int getEquivalentHitDice() { return equivalentHitDice; }
-	public char getEnvironment() { return environment; }
-	public int getKillTally() { return killTally; }
+	public char getEnvironment() { return type.getEnvironment(); }
+	public String getSpecialsString() { return type.getSpecialsString(); }
 	public int getTimesMeleed() { return timesMeleed; }
 
 	// Shortcut accessors
@@ -307,29 +267,6 @@ public class Monster {
 	/** Take damage to an ability score (to override). */
 	protected void takeAbilityDamage(Ability a, int n) { } 
 
-	/**
-		Parse hit dice record from short descriptor.
-	*/
-	private Dice parseHitDice(String s) {
-		Pattern p = Pattern.compile("(\\d+)([x/]\\d+)?([+-]\\d+)?");
-		Matcher m = p.matcher(s);
-		if (m.matches()) {
-			int mul = 1, add = 0;
-			int num = Integer.parseInt(m.group(1));
-			if (m.group(2) != null) {
-				boolean positive = m.group(2).startsWith("x");
-				int val = Integer.parseInt(m.group(2).substring(1));
-				mul = positive ? val : -val;
-			}
-			if (m.group(3) != null) {
-				add = Integer.parseInt(m.group(3));
-			}
-			return new Dice(num, BASE_HIT_DIE, mul, add);
-		}
-		System.err.println("Could not parse hit dice descriptor: " + s);
-		return null;
-	}
-
 	/**
 		Make short hit dice descriptor from record.
 	*/
@@ -348,54 +285,6 @@ public class Monster {
 		return s;	
 	}
 
-	/**
-		Parse attack routine from rate and damage.
-	*/
-	private Attack parseAttackRoutine(String atkRate, String damageDesc) {
-		int attackBonus = hitDice.getNum();
-		int attackRate = Integer.parseInt(atkRate);
-		return new Attack(null, attackRate, attackBonus, new Dice(damageDesc));
-	}
-
-	/**
-		Parse special ability list from descriptor string.
-	*/
-	private void setSpecialAbilities() {
-		if (specialsString.length() > 1) {
-			String[] parts = specialsString.split(", ");
-			for (String part: parts) {
-				SpecialAbility ability = 
-					SpecialAbility.createFromString(part);
-				if (ability != null) {
-					addSpecial(ability.getType(), ability.getParam());
-				}
-			}     
-		}
-		addImpliedSpecials();
-		checkPostSpecialMods();
-	}
-
-	/**
-		Add some special qualifiers based on name or type.
-	*/
-	private void addImpliedSpecials() {
-		if (getRace().endsWith("Dragon")
-			|| getRace().endsWith("Dragon Turtle"))
-		{
-			addSpecial(SpecialType.Dragon);
-			dragonAge = parseDragonAge();
-		}
-		if (getRace().endsWith("Golem")) {
-			addSpecial(SpecialType.Golem);
-		}
-		if (getType() == 'U') {
-			addSpecial(SpecialType.Undead);
-		}
-		if (getType() == 'S') {
-			addSpecial(SpecialType.Slime);
-		}
-	}
-
 	/**
 		Is this monster a sentient type (have an effective mind)?
 	*/
@@ -427,33 +316,6 @@ public class Monster {
 		return hasCondition(SpecialType.Illusion);	
 	}
 
-	/**
-		Check for a special modifiers after parsing special abilities.
-	*/
-	private void checkPostSpecialMods() {
-
-		// Joint types halve attack bonus by hit dice
-		if (hasSpecial(SpecialType.JointType)) {
-			if (primaryAttack != null) {
-				primaryAttack.setBonus(hitDice.getNum() / 2);
-			}
-		}
-		
-		// Some NPC types may entirely override attack bonus by hit dice
-		if (hasSpecial(SpecialType.SetAttackBonus)) {
-			if (primaryAttack != null) {
-				primaryAttack.setBonus(getSpecialParam(SpecialType.SetAttackBonus));
-			}
-		}
-	}
-
-	/**
-		Parse the EHD value (possibly undefined).
-	*/
-	private int parseEHD(String s) {
-		return s.equals("?") ? UNDEFINED_EHD : Integer.parseInt(s);
-	}
-
 	/**
 		Spawn a new monster of this type, with different hit points.
 	*/
@@ -463,9 +325,7 @@ public class Monster {
 		if (hasSpecial(SpecialType.NPC)) {
 			Character c = Character.evilNPCFromTitle(race);
 			c.race = race; // Reset race name for kill tally
-			for (SpecialType s: specialList) {
-				c.addSpecial(s, getSpecialParam(s));
-			}
+			c.addSpecials(type);
 			return c;
 		}
 		
@@ -552,7 +412,7 @@ public class Monster {
 	*/
 	public void setPerfectHealth() {
 		hitPoints = getMaxHitPoints();
-		conditionList.clear();
+		conditions.clear();
 		zeroAbilityDamage();
 	}
 
@@ -666,7 +526,7 @@ public class Monster {
 		Check if we should be making sweep attacks.
 	*/
 	private boolean useSweepAttacks(Party enemies) {
-		return Character.useSweepAttacks() 
+		return SimulationConfig.current().useSweepAttacks() 
 			&& getSweepRate() > getAttack().getRate()
 			&& enemies.isModeFirstLevel();
 	}
@@ -810,12 +670,12 @@ public class Monster {
 		}
 
 		// Blinking (2-in-6 for rear attack)
-		if (hasSpecial(SpecialType.Blinking) && new Dice(6).roll() <= 2) {
+		if (hasSpecial(SpecialType.Blinking) && Dice.roll(6) <= 2) {
 			modifier += 2;
 		}
 
 		// Phasing (3-in-6 for rear attack)
-		if (hasSpecial(SpecialType.Phasing) && new Dice(6).roll() <= 3) {
+		if (hasSpecial(SpecialType.Phasing) && Dice.roll(6) <= 3) {
 			modifier += 2;
 		}
 		
@@ -883,7 +743,7 @@ public class Monster {
 	{
 
 		// Special abilities of this attacking monster
-		for (SpecialType s: specialList) {
+		for (SpecialType s: type.getSpecials()) {
 			switch (s) {
 
 				case Paralysis:
@@ -934,8 +794,8 @@ public class Monster {
 					break;
 					
 				case Immolation: 
-					if (isLastAttack && new Dice(2, 6).roll() >= 7) {
-						int damage = new Dice(3, 6).roll();
+					if (isLastAttack && Dice.roll(2, 6) >= 7) {
+						int damage = Dice.roll(3, 6);
 						throwEnergy(target, damage, EnergyType.Fire, 
 							SavingThrows.Type.Breath);
 					}
@@ -1032,7 +892,7 @@ public class Monster {
 		}
 
 		// Check monster special abilities list
-		for (SpecialType s: specialList) {
+		for (SpecialType s: type.getSpecials()) {
 			switch (s) {
 
 				case Charm:
@@ -1076,7 +936,7 @@ public class Monster {
 					return;
 
 				case ConeOfCold:
-					int coldDamage = new Dice(8, 6).roll();
+					int coldDamage = Dice.roll(8, 6);
 					int maxVictims = getMaxVictimsInCone(6);
 					throwEnergyArea(enemy, maxVictims, coldDamage, 
 						EnergyType.Cold, SavingThrows.Type.Spells);
@@ -1171,58 +1031,66 @@ public class Monster {
 	/**
 		Add a special ability.
 	*/
-	protected void addSpecial(SpecialType type, int param) {
-		specialList.add(type);	
-		specialValues.put(type, Integer.valueOf(param));
+	protected void addSpecial(SpecialType special, int param) {
+		type = new MonsterType(type, special, param);
+	}
+
+	/**
+		Add all the special abilities of another type.
+	*/
+	protected void addSpecials(MonsterType other) {
+		type = new MonsterType(type, other);
 	}
 
 	/**
 		Check if this monster has a given type of special ability.
 	*/
 	private boolean hasSpecial(SpecialType type) {
-		return specialList.contains(type);
+		return this.type.hasSpecial(type);
 	}
 
 	/**
 		Get the parameter for a given special ability.
 	*/
 	private int getSpecialParam(SpecialType type) {
-		return specialValues.get(type).intValue();
+		return this.type.getSpecialParam(type);
 	}	
 
 	/**
 		Add a condition suffered from a special ability.
 	*/
 	private void addCondition(SpecialType type) {
-		conditionList.add(type);
-		FightManager.report(this.race + " takes condition " + type);
+		conditions.add(type);
+		FightManager.report(FightListener.Event.TakeCondition, this, type);
 	}
 
 	/**
 		Remove a condition of a given special type.
 	*/
 	private void removeCondition(SpecialType type) {
-		conditionList.remove(type);
-		FightManager.report(this.race + " loses condition " + type);
+		conditions.remove(type);
+		FightManager.report(FightListener.Event.LoseCondition, this, type);
 	}
 
 	/**
 		Check if we suffer from a given condition.
 	*/
 	public boolean hasCondition(SpecialType type) {
-		return conditionList.contains(type);
+		return conditions.contains(type);
+	}
+
+	/**
+		Check if we suffer from any condition at all.
+	*/
+	public boolean hasAnyCondition() {
+		return !conditions.isEmpty();
 	}
 
 	/**
 		Check if we suffer from a disabling condition.
 	*/
 	private boolean hasDisablingCondition() {
-		for (SpecialType s: conditionList) {
-			if (s.isDisabling()) {
-				return true;
-			}
-		}
-		return false;
+		return conditions.intersects(SpecialSet.DISABLING);
 	}
 
 	/**
@@ -1336,8 +1204,8 @@ public class Monster {
 	*/
 	private void takeEnergyDamage(EnergyType energy, int damage) {
 		takeDamage(damage);
-		FightManager.report(this.race + " takes damage from " 
-			+ energy + " (" + damage + " points)");
+		FightManager.report(FightListener.Event.EnergyDamage, 
+			this, energy, damage);
 	}
 
 	/**
@@ -1460,48 +1328,28 @@ public class Monster {
 		Get our breath weapon (if any).
 	*/
 	private SpecialType getBreathWeapon() {
-		for (SpecialType s: specialList) {
-			if (s.isBreathWeapon()) {
-				return s;
-			}
-		}
-		return null;
+		return type.getFirstSpecial(SpecialSet.BREATH_WEAPONS);
 	}
 
 	/**
 		Get our gaze weapon (if any).
 	*/
 	private SpecialType getGazeWeapon() {
-		for (SpecialType s: specialList) {
-			if (s.isGazeWeapon()) {
-				return s;
-			}
-		}
-		return null;
+		return type.getFirstSpecial(SpecialSet.GAZE_WEAPONS);
 	}
 
 	/**
 		Get our summons ability (if any).
 	*/
 	private SpecialType getSummonsAbility() {
-		for (SpecialType s: specialList) {
-			if (s.isSummonsAbility()) {
-				return s;
-			}
-		}
-		return null;
+		return type.getFirstSpecial(SpecialSet.SUMMONS_ABILITIES);
 	}
 
 	/**
 		Get our attachment ability (if any).
 	*/
 	private SpecialType getAttachmentAbility() {
-		for (SpecialType s: specialList) {
-			if (s.isAttachmentAbility()) {
-				return s;
-			}
-		}
-		return null;
+		return type.getFirstSpecial(SpecialSet.ATTACHMENT_ABILITIES);
 	}
 
 	/**
@@ -1539,7 +1387,7 @@ public class Monster {
 	private void doBloodDrain() {
 		assert hasSpecial(SpecialType.BloodDrain) && host != null;
 		int maxDamage = getSpecialParam(SpecialType.BloodDrain);
-		int drain = new Dice(1, maxDamage).roll();
+		int drain = Dice.roll(1, maxDamage);
 		host.takeDamage(drain);
 	}
 
@@ -1619,7 +1467,7 @@ public class Monster {
 		@return Did we make a breath attack?
 	*/
 	private boolean checkBreathWeapon(Party enemy) {
-		if (breathCharges > 0 && new Dice(2, 6).roll() >= 7) {
+		if (breathCharges > 0 && Dice.roll(2, 6) >= 7) {
 			SpecialType breathType = getBreathWeapon();
 			int param = getSpecialParam(breathType);
 			int damage, maxVictims, numVictims;
@@ -1632,7 +1480,7 @@ public class Monster {
 					switch (param) {
 						case 0: damage = maxHitPoints; // Dragon
 							maxVictims = getMaxVictimsInCone(9); break;
-						default: damage = new Dice(param, 6).roll();
+						default: damage = Dice.roll(param, 6);
 							maxVictims = getMaxVictimsInCone(param); break;
 					}
 					numVictims = getBreathVictims(enemy, maxVictims);
@@ -1651,7 +1499,7 @@ public class Monster {
 					switch (param) {
 						case 0: damage = maxHitPoints; // Dragon
 							maxVictims = 5; break;
-						default: damage = new Dice(param, 6).roll();
+						default: damage = Dice.roll(param, 6);
 							maxVictims = 6; break;
 					}
 					numVictims = getBreathVictims(enemy, maxVictims);
@@ -1663,7 +1511,7 @@ public class Monster {
 					switch (param) {
 						case 0: damage = maxHitPoints; // Dragon
 							maxVictims = 3; break;
-						default: damage = new Dice(param, 6).roll();
+						default: damage = Dice.roll(param, 6);
 							maxVictims = 1; break;
 					}
 					numVictims = getBreathVictims(enemy, maxVictims);
@@ -1774,7 +1622,7 @@ public class Monster {
 			switch (summonsType) {
 				case SummonVermin: 
 					minionType = mdb.getByRace("Wolf");
-					minionNum = new Dice(3, 6).roll();
+					minionNum = Dice.roll(3, 6);
 					break;
 
 				case SummonTrees:
@@ -1797,8 +1645,8 @@ public class Monster {
 			// Add the summoned types to party
 			if (minionType != null) {
 				party.addMonsters(minionType, minionNum);
-				FightManager.report(getRace() + " summons "
-					+ minionType.getNameWithNum(minionNum));
+				FightManager.report(FightListener.Event.Summons,
+					this, minionType, minionNum);
 			}
 		}
 	}
@@ -1807,12 +1655,7 @@ public class Monster {
 		Conjure an Elemental under our control.
 	*/
 	public void conjureElemental(Party party) {
-
-		// Elemental stats are hard-coded in case of tests
-		// against alternate monster databases which lack it
-		String elemDesc = "Large Earth Elemental,1,2,6,16"
-			+ ",-,-,1,3d6,N,X,36,16,X,O,MagicToHit (2)";
-		Monster elemental = new Monster(elemDesc.split(","));
+		Monster elemental = new Monster(ConjuredTypes.ELEMENTAL);
 		elemental.addCondition(SpecialType.Conjuration);
 		elemental.master = this;
 		this.puppet = elemental;
@@ -1823,9 +1666,7 @@ public class Monster {
 		Create a Phantasmal Force under our control.
 	*/
 	public void createPhantasm(Party party) {
-		String phanDesc = "Phantasm,1,9,12,1/6"
-			+ ",-,-,1,1d6,N,X,1,0.2,D,O,-";
-		Monster phantasm = new Monster(phanDesc.split(","));
+		Monster phantasm = new Monster(ConjuredTypes.PHANTASM);
 		phantasm.addCondition(SpecialType.Illusion);
 		phantasm.master = this;
 		this.puppet = phantasm;
@@ -1843,7 +1684,7 @@ public class Monster {
 			|| hasCondition(SpecialType.Conjuration))
 		{
 			party.queueOutgoing(this);	
-			FightManager.report(getRace() + " is dispelled");
+			FightManager.report(FightListener.Event.Dispelled, this);
 		}
 	}
 
@@ -1852,7 +1693,7 @@ public class Monster {
 	*/
 	private boolean checkConfusion(Party party) {
 		if (hasCondition(SpecialType.Confusion)) {
-			int reaction = new Dice(2, 6).roll();
+			int reaction = Dice.roll(2, 6);
 			if (reaction <= 5) { // act normally
 				return false; 
 			}
@@ -1935,8 +1776,7 @@ public class Monster {
 	*/
 	private void setHost(Monster host) {
 		this.host = host;
-		FightManager.report(getRace() 
-			+ " is attached to " + host.getRace());
+		FightManager.report(FightListener.Event.Attached, this, host);
 	}
 
 	/**
@@ -1947,8 +1787,30 @@ public class Monster {
 		if (hasSpecial(SpecialType.ManyHeads)) {
 			int hitDieSides = getHitDice().getSides();
 			int newRate = (getHP() - 1) / hitDieSides + 1;
-			getAttack().setRate(newRate);
+			if (getAttack().getRate() != newRate) {
+				getOwnAttack().setRate(newRate);
+			}
+		}
+	}
+
+	/**
+		Get our hit dice for modification (copy if shared with type).
+	*/
+	private Dice getOwnHitDice() {
+		if (hitDice == type.getHitDice()) {
+			hitDice = new Dice(hitDice);
+		}
+		return hitDice;
+	}
+
+	/**
+		Get our attack for modification (copy if shared with type).
+	*/
+	private Attack getOwnAttack() {
+		if (primaryAttack == type.getAttack()) {
+			primaryAttack = new Attack(primaryAttack);
 		}
+		return primaryAttack;
 	}
 
 	/**
@@ -1959,11 +1821,11 @@ public class Monster {
 		int hd = getHitDiceNum();
 		if (hd <= 1) {
 			maxHitPoints = 0;
-			hitDice.setNum(0);
+			getOwnHitDice().setNum(0);
 		}
 		else {
 			maxHitPoints = maxHitPoints * (hd - 1) / hd;
-			hitDice.setNum(hd - 1);
+			getOwnHitDice().setNum(hd - 1);
 		}
 		boundHitPoints();
 	}
@@ -1980,8 +1842,19 @@ public class Monster {
 		This is overridden in a subclass.
 	*/
 	protected boolean rollSave(SavingThrows.Type type, int modifier) {
-		return SavingThrows.getInstance().rollSave(
-			type, "Fighter", getHD(), modifier);
+		SavingThrows saves = SavingThrows.getInstance();
+		return saves.rollSave(
+			type, saves.getMonsterClassId(), getHD(), modifier);
+	}
+
+	/**
+		Get the chance to make a saving throw with modifier.
+		Matches rollSave(); this is overridden in a subclass.
+	*/
+	protected double probSave(SavingThrows.Type type, int modifier) {
+		SavingThrows saves = SavingThrows.getInstance();
+		return saves.probSave(
+			type, saves.getMonsterClassId(), getHD(), modifier);
 	}
 
 	/**
@@ -2050,13 +1923,6 @@ public class Monster {
 		return 0;	
 	}
 
-	/**
-		Add to kill tally.
-	*/
-	public void addToKillTally(int num) {
-		killTally += num; 
-	}
-
 	/**
 		Get the XP award value for defeating this monster.
 	*/
@@ -2071,8 +1937,9 @@ public class Monster {
 		(Recommended for wilderness encounters only.)
 	*/
 	public Treasure rollTreasureType(int numMonsters) {
-		Treasure treas = MonsterTreasureTable.randomTreasureByCode(treasureType);
-		treas.scaleByRatio(numMonsters, numberAppearing.avgRoll());
+		Treasure treas = MonsterTreasureTable.randomTreasureByCode(
+			getTreasureType());
+		treas.scaleByRatio(numMonsters, getNumberAppearing().avgRoll());
 		return treas;
 	}
 
@@ -2102,17 +1969,20 @@ public class Monster {
 
 	/**
 		Identify this monster as a stat-block string.
+		Optional parts are as set in the current simulation config.
 	*/
 	public String toString() {
+		SimulationConfig config = SimulationConfig.current();
 		return getRace() 
 			+ ": AC " + getAC() 
 			+ ", MV " + getMV() 
 			+ ", HD " + getHDString() 
-			+ (printHitPoints ? " (hp " + getMaxHitPoints() + ")" : "")
-			+ (printEHDs ? ", EHD " + getEHDString() : "")
+			+ (config.printHitPoints() ? " (hp " + getMaxHitPoints() + ")" : "")
+			+ (config.printEHDs() ? ", EHD " + getEHDString() : "")
 			+ ", Atk " + getAttack().getRate() 
 			+ ", Dam " + getAttack().getDamage()
-			+ (specialsString.length() > 1 ? ", SA " + specialsString : "")
+			+ (getSpecialsString().length() > 1 
+				? ", SA " + getSpecialsString() : "")
 			+ ".";
 	}
 
@@ -2174,18 +2044,6 @@ public class Monster {
 		return ehd == UNDEFINED_EHD ? "?" : String.valueOf(ehd);
 	}
 
-	/**
-		Parse a floating-point string safely.
-	*/
-	private float parseFloat(String s) {
-		try {
-			return Float.parseFloat(s);							
-		}	
-		catch (Exception e) {
-			return 0.0f;
-		}
-	}
-
 	/**
 		Parse a dragon's age value from the name.
 		@return the age bracket (1-6, or 0 if not given)
@@ -2245,8 +2103,8 @@ public class Monster {
 		Does this creature count as a person? (c.f., charm, hold spells)
 	*/
 	public boolean isPerson() {
-		return typeCode == 'M'
-			|| (typeCode == 'H' && getHD() <= 1);
+		return getType() == 'M'
+			|| (getType() == 'H' && getHD() <= 1);
 	}
 
 	/**
@@ -2323,7 +2181,7 @@ public class Monster {
 		{
 			Spell spell = getBestAttackSpell(enemies, area);
 			if (spell != null) {
-				FightManager.report(this.race + " casts " + spell);
+				FightManager.report(FightListener.Event.CastSpell, this, spell);
 				spell.cast(this, friends, enemies);
 				wipeSpellFromMemory(spell);
 				return true;
@@ -2410,7 +2268,7 @@ public class Monster {
 		// Cast random 1-4 of the spell-effects.
 		int numZaps = Dice.roll(4);
 		numZaps = Math.min(numZaps, eyeFuncs.size());
-		Collections.shuffle(eyeFuncs);
+		Dice.shuffle(eyeFuncs);
 		for (int i = 0; i < numZaps; i++) {
 			eyeFuncs.get(i).cast(this, null, enemy);
 		}
@@ -2671,7 +2529,7 @@ public class Monster {
 	private void loseConcentration() {
 		if (puppet != null) {
 			puppet = null;
-			FightManager.report(getRace() + " loses concentration");
+			FightManager.report(FightListener.Event.LoseConcentration, this);
 		}
 	}
 
@@ -2695,7 +2553,7 @@ public class Monster {
 				if (hasCondition(SpecialType.Conjuration)) {
 					friends.queueOutgoing(this);
 					enemies.queueIncoming(this);
-					FightManager.report(getRace() + " goes out of control");
+					FightManager.report(FightListener.Event.OutOfControl, this);
 				}
 				return true;
 			}
@@ -2704,20 +2562,6 @@ public class Monster {
 		return false;	
 	}
 
-	/**
-		Set the static flag for EHD printing in stat blocks.
-	*/
-	public static void setPrintEHDs(boolean b) {
-		printEHDs = b;
-	}
-
-	/**
-		Set the static flag for hit point printing in stat blocks.
-	*/
-	public static void setPrintHitPoints(boolean b) {
-		printHitPoints = b;	
-	}
-
 	/**
 		Main test method.
 	*/
@@ -1,6 +1,9 @@
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.io.IOException; 
 
 /**
@@ -17,35 +20,51 @@ public class MonsterDatabase implements Iterable<Monster> {
 	//--------------------------------------------------------------------------
 
 	/** Default file with monster information. */
-	private static final String MONSTER_FILE_DEFAULT = "MonsterDatabase.csv";
+	static final String DEFAULT_FILE = "MonsterDatabase.csv";
 
 	//--------------------------------------------------------------------------
 	//  Fields
 	//--------------------------------------------------------------------------
 
-	/** Name of file with monster information. */
-	private static String monsterFile = MONSTER_FILE_DEFAULT;
+	/** The instance most recently accessed (fast path for one file). */
+	private static volatile MonsterDatabase instance = null;
 
-	/** The singleton class instance. */
-	private static MonsterDatabase instance = null;
+	/** Instances loaded so far, by filename. */
+	private static Map<String, MonsterDatabase> loadedFiles
+		= new HashMap<String, MonsterDatabase>();
 	
+	/** Name of file read for this instance. */
+	private String filename;
+
 	/** List of Monster records. */
 	private List<Monster> monsterList;
 
+	/** Source database row for each Monster record. */
+	private Map<Monster, String[]> sourceRows;
+
+	/** Index of Monster records by race. */
+	private NameIndex<Monster> raceIndex;
+
 	//--------------------------------------------------------------------------
 	//  Constructors
 	//--------------------------------------------------------------------------
 
 	/**
-		Constructor (read from dedicated file).
+		Constructor (read from given file).
 		@throws IOException if file open/read fails
 	*/
-	protected MonsterDatabase() throws IOException {
-		String[][] table = CSVReader.readFile(monsterFile);
+	protected MonsterDatabase(String filename) throws IOException {
+		this.filename = filename;
+		String[][] table = CSVReader.readFile(filename);
 		monsterList = new ArrayList<Monster>(table.length - 1);
+		sourceRows = new IdentityHashMap<Monster, String[]>();
 		for (int i = 1; i < table.length; i++) {
-			monsterList.add(new Monster(table[i]));
+			Monster monster = new Monster(new MonsterType(table[i]));
+			monsterList.add(monster);
+			sourceRows.put(monster, table[i]);
 		}
+		raceIndex = new NameIndex<Monster>(monsterList, Monster::getRace,
+			true);
 	}
 
 	//--------------------------------------------------------------------------
@@ -53,18 +72,36 @@ public class MonsterDatabase implements Iterable<Monster> {
 	//--------------------------------------------------------------------------
 
 	/**
-		Access the singleton class instance.
+		Access the class instance for the current config's file.
 	*/
 	public static MonsterDatabase getInstance() {
-		if (instance == null) {
-			try {
-				instance = new MonsterDatabase();
-			}
-			catch (IOException e) {
-				System.err.println("Failed to read monster database file.");
+		return getInstance(SimulationConfig.current().getDatabaseFile());
+	}
+
+	/**
+		Access the class instance for a given file.
+		Each file is read once per process.
+	*/
+	public static MonsterDatabase getInstance(String file) {
+		MonsterDatabase db = instance;
+		if (db != null && db.filename.equals(file)) {
+			return db;
+		}
+		synchronized (loadedFiles) {
+			db = loadedFiles.get(file);
+			if (db == null) {
+				try {
+					db = new MonsterDatabase(file);
+					loadedFiles.put(file, db);
+				}
+				catch (IOException e) {
+					System.err.println("Failed to read monster database file.");
+					return null;
+				}
 			}
 		}
-		return instance;
+		instance = db;
+		return db;
 	}
 
 	/**
@@ -75,31 +112,31 @@ public class MonsterDatabase implements Iterable<Monster> {
 	}
 
 	/**
-		Get a monster by matching its race.
+		Get a monster by matching its race (ignoring case).
 	*/
 	public Monster getByRace(String race) {
-		for (Monster m: monsterList) {
-			if (m.getRace().equalsIgnoreCase(race)) {
-				return m;
-			}
+		Monster m = raceIndex.get(race);
+		if (m == null) {
+			System.err.println("Failed to find monster in database: " + race);
 		}
-		System.err.println("Failed to find monster in database: " + race);
-		return null;
+		return m;
 	}
 
 	/**
-		Get a random monster from the database.
+		Get the database row a monster record was read from.
+		@return copy of the row fields, or null if not from this database
 	*/
-	public Monster getRandom() {
-		int index = Dice.roll(monsterList.size()) - 1;
-		return monsterList.get(index);
+	public String[] getSourceRow(Monster monster) {
+		String[] row = sourceRows.get(monster);
+		return row == null ? null : row.clone();
 	}
 
 	/**
-		Set an alternate monster database filename.
+		Get a random monster from the database.
 	*/
-	public static void setDatabaseFilename(String filename) {
-		monsterFile = filename;	
+	public Monster getRandom() {
+		int index = Dice.roll(monsterList.size()) - 1;
+		return monsterList.get(index);
 	}
 
 	/**
@@ -111,7 +148,8 @@ public class MonsterDatabase implements Iterable<Monster> {
 	public static void main(String[] args) {
 		Dice.initialize();
 		if (args.length > 0) {
-			setDatabaseFilename(args[0]);
+			SimulationConfig.install(
+				SimulationConfig.current().withDatabaseFile(args[0]));
 		}
 		MonsterDatabase db = getInstance();
 		for (Monster m: db) {
@@ -1,9 +1,22 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
-import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
 	Application to measure monster power levels.
@@ -48,6 +61,9 @@ public class MonsterMetrics {
 	/** Default denominator for fraction of party that are wizards. */
 	private static final int DEFAULT_WIZARD_RATIO = 4;
 
+	/** Line separator for report text (as println would use). */
+	private static final String NL = System.lineSeparator();
+
 	/** Value per y-axis step in ASCII power graphs. */
 	private static final int GRAPH_Y_INTERVAL = 5;
 	
@@ -63,6 +79,20 @@ public class MonsterMetrics {
 	/** Default party size in "best matchup" finder. */
 	private static final int DEFAULT_PARTY_SIZE = 5;
 
+	/**
+		Default number of prebuilt characters per level & class.
+
+		Off by default: with a pool, every estimate in a run depends on
+		the one finite sample of characters in the pool, and that error
+		doesn't shrink with more fights. Pools of a few thousand make
+		that small for a quick run; build each (0) for published results.
+	*/
+	private static final int DEFAULT_RESERVOIR_SIZE = 0;
+
+	/** Default number of threads for running fights. */
+	private static final int DEFAULT_THREADS 
+		= Runtime.getRuntime().availableProcessors();
+
 	//--------------------------------------------------------------------------
 	//  Inner class
 	//--------------------------------------------------------------------------
@@ -87,6 +117,56 @@ public class MonsterMetrics {
 		}
 	};
 
+	/** Series of search probes along one parameter. */
+	class ProbeSeries {
+
+		/** Function to measure the matchup at a parameter value. */
+		private IntFunction<MatchupCache.Tally> tallyFunc;
+
+		/** Is the win ratio increasing in the parameter? */
+		private boolean increasing;
+
+		/** Results measured so far, by parameter value. */
+		private TreeMap<Integer, MatchupCache.Tally> results;
+
+		/** Constructor. */
+		ProbeSeries(IntFunction<MatchupCache.Tally> func, boolean inc) {
+			tallyFunc = func;
+			increasing = inc;
+			results = new TreeMap<Integer, MatchupCache.Tally>();
+		}
+
+		/** Get the measured win ratio at a parameter value. */
+		double getRatio(int n) {
+			return getTally(n).getRatio();
+		}
+
+		/** Get the tally at a parameter value (measure if needed). */
+		private MatchupCache.Tally getTally(int n) {
+			MatchupCache.Tally tally = results.get(n);
+			if (tally == null) {
+				tally = tallyFunc.apply(n);
+				results.put(n, tally);
+			}
+			return tally;
+		}
+
+		/** 
+			Get the win ratio at a parameter value, 
+			pooled with neighbors to be monotone if so set.
+		*/
+		double getPooledRatio(int n) {
+			MatchupCache.Tally tally = getTally(n);
+			if (!poolMonotoneProbes) {
+				return tally.getRatio();
+			}
+			MatchupCache.Tally[] series = results.values()
+				.toArray(new MatchupCache.Tally[results.size()]);
+			double[] pooled = MatchupCache.poolMonotone(series, increasing);
+			return pooled[results.headMap(n).size()];
+		}
+	}
+
 	//--------------------------------------------------------------------------
 	//  Fields
 	//--------------------------------------------------------------------------
@@ -106,6 +186,18 @@ public class MonsterMetrics {
 	/** Fraction of party who are wizards. */
 	private int wizardFrequency;
 
+	/** Number of prebuilt characters per level & class (0 = none). */
+	private int reservoirSize;
+
+	/** Pool of prebuilt fighters. */
+	private CharacterPool fighterPool;
+
+	/** Pool of prebuilt wizards. */
+	private CharacterPool wizardPool;
+
+	/** Simulation config for this run. */
+	private SimulationConfig config;
+
 	/** PC level for sample fight run. */
 	private int commandPartyLevel;
 
@@ -145,9 +237,43 @@ public class MonsterMetrics {
 	/** Flag to show suggested best number matches. */
 	private boolean showBestNumberMatch;
 
-	/** Did we print anything on this run? */
+	/** Did we print anything on this run? (Set only by main thread.) */
 	private boolean printedSomeMonster;
 
+	/** Number of monsters to assess at once. */
+	private int monsterThreads;
+
+	/** Sequential test to stop fights at a search point (null = none). */
+	private SequentialTest sequentialTest;
+
+	/** Flag to display number of fights run per monster. */
+	private boolean displayFightsRun;
+
+	/** Counter for fight events (null = not counting). */
+	private FightEventCounter fightEventCounter;
+
+	/** Fights run for the monster being assessed in each thread. */
+	private ThreadLocal<long[]> monsterFightsRun
+		= ThreadLocal.withInitial(() -> new long[1]);
+
+	/** Total fights run in this process. */
+	private AtomicLong totalFightsRun = new AtomicLong();
+
+	/** Results of matchups measured so far. */
+	private MatchupCache matchupCache = new MatchupCache();
+
+	/** Flag to pool search probes so results are monotone. */
+	private boolean poolMonotoneProbes;
+
+	/** Flag to reuse & save results in the on-disk store. */
+	private boolean useResultStore;
+
+	/** Recompute stored results made before this date (null = none). */
+	private LocalDate recomputeBefore;
+
+	/** Store of results from earlier runs (null = not used). */
+	private EHDResultStore resultStore;
+
 	/** Show one sample fight at parity numbers. */
 	private boolean doShowSampleFight;
 
@@ -190,8 +316,11 @@ public class MonsterMetrics {
 		armorType = DEFAULT_ARMOR;
 		pctMagicPerLevel = DEFAULT_MAGIC_PER_LEVEL_PCT;
 		wizardFrequency = DEFAULT_WIZARD_RATIO;
+		reservoirSize = DEFAULT_RESERVOIR_SIZE;
 		expectedPartySize = DEFAULT_PARTY_SIZE;
-		SpellMemory.setPreferCastableSpells(true);
+		monsterThreads = 1;
+		config = SimulationConfig.current().withPreferCastableSpells(true)
+			.withFightThreads(DEFAULT_THREADS);
 	}
 
 	//--------------------------------------------------------------------------
@@ -226,6 +355,7 @@ public class MonsterMetrics {
 			+ "default " + DEFAULT_ARMOR + ")");
 		println("\t-b set filename for an alternate monster database");
 		println("\t-c print stat blocks only for active monsters");
+		println("\t-D reuse & save results in store file next to database");
 		println("\t-d display equated fighter hit dice per level");
 		println("\t-e display equated fighters per level");
 		println("\t-f number of fights per point in search space " 
@@ -254,6 +384,19 @@ public class MonsterMetrics {
 		println("\t-z fraction of wizards in party " 
 			+ "(default =" + DEFAULT_WIZARD_RATIO + ")");
 		println("\t-A find monster vs. monster chance for damage");
+		println("\t-C count fight events by kind (show totals at end)");
+		println("\t-E stop fights by sequential test at given error " 
+			+ "percents (-E:#[:#])");
+		println("\t-F display number of fights run per monster");
+		println("\t-G recompute stored results (all, or made before "
+			+ "=yyyy-mm-dd)");
+		println("\t-I pool neighboring search points to be monotone");
+		println("\t-P monsters to assess in parallel (default =1)");
+		println("\t-R prebuilt characters per level, 0 = build each " 
+			+ "(default =" + DEFAULT_RESERVOIR_SIZE + ")");
+		println("\t-S seed random numbers for a reproducible run (=#)");
+		println("\t-T threads for running fights " 
+			+ "(default = " + DEFAULT_THREADS + ")");
 		println("");
 	}
 
@@ -282,6 +425,33 @@ public class MonsterMetrics {
 				"Matchup assessment requires spotlight monster specified.");
 			exitAfterArgs = true;
 		}
+
+		// Attach fight event counter if requested
+		if (fightEventCounter != null) {
+			config = config.withFightListener(fightEventCounter);
+		}
+
+		// Open result store if requested
+		if (useResultStore && !exitAfterArgs) {
+			resultStore = new EHDResultStore(config.getDatabaseFile());
+			resultStore.setStaleBefore(recomputeBefore);
+		}
+
+		// Check reservoir size
+		if (reservoirSize < 0) {
+			exitAfterArgs = true;
+		}
+	}
+
+	/**
+		Prebuild characters for parties.
+		Call in this run's config, before any threads split contexts.
+	*/
+	private void buildCharacterPools() {
+		fighterPool = new CharacterPool(
+			this::newFighter, MAX_LEVEL, reservoirSize);
+		wizardPool = new CharacterPool(this::newWizard, MAX_LEVEL, 
+			wizardFrequency > 0 ? reservoirSize : 0);
 	}
 
 	/**
@@ -292,7 +462,7 @@ public class MonsterMetrics {
 			if (s.length() > 1 && s.charAt(0) == '-') {
 				switch (s.charAt(1)) {
 					case 'a': armorType = getArmorType(s); break;
-					case 'b': MonsterDatabase.setDatabaseFilename(
+					case 'b': config = config.withDatabaseFile(
 									getParamString(s)); break;
 					case 'c': doPrintStatBlocks = true; break;
 					case 'd': displayEquatedFightersHD = true; break;
@@ -300,32 +470,44 @@ public class MonsterMetrics {
 					case 'f': numberOfFights = getParamInt(s); break;
 					case 'g': graphEquatedFightersHD = true; break;
 					case 'h': parseSingleMatchupOption(s); break;
-					case 'i': Monster.setPrintHitPoints(true); break;
+					case 'i': config = config.withPrintHitPoints(true); break;
 					case 'j': compareMonsters = true; break;
 					case 'k': waitForKeypress = true; break;
 					case 'l': showBestLevelMatch = true; break;
 					case 'm': pctMagicPerLevel = getParamInt(s); break;
 					case 'n': showBestNumberMatch = true; break;
-					case 'o': spotlightMonster = MonsterDatabase.getInstance()
-									.getRandom(); break;
+					case 'o': spotlightMonster = MonsterDatabase.getInstance(
+									config.getDatabaseFile()).getRandom(); break;
 					case 'p': showParityWinRatios = true; break;
 					case 'q': showQuickBattleStats = true; break;
 					case 'r': displayOnlyRevisions = true; break;
 					case 's': parseSampleFightOption(s); break;
 					case 't': makeBNMTable = true; break;
 					case 'u': displayUnknownSpecials = true; break;
-					case 'v': Monster.setPrintEHDs(true); break;
-					case 'w': Character.setSweepAttacks(true); break;
+					case 'v': config = config.withPrintEHDs(true); break;
+					case 'w': config = config.withSweepAttacks(true); break;
 					case 'x': expectedPartySize = getParamInt(s); break;
 					case 'y': displaySpecialsAlphaOrder = true; break;
 					case 'z': wizardFrequency = getParamInt(s); break;
 					case 'A': findMonsterDamageChance = true; break;
+					case 'C': fightEventCounter = new FightEventCounter(); break;
+					case 'D': useResultStore = true; break;
+					case 'E': parseSequentialTestOption(s); break;
+					case 'F': displayFightsRun = true; break;
+					case 'G': parseRecomputeOption(s); break;
+					case 'I': poolMonotoneProbes = true; break;
+					case 'S': Dice.setSeed(getParamInt(s)); break;
+					case 'P': monsterThreads = getParamInt(s); break;
+					case 'R': reservoirSize = getParamInt(s); break;
+					case 'T': config = config.withFightThreads(
+									getParamInt(s)); break;
 					default: exitAfterArgs = true; break;
 				}
 			}
 			else {
 				if (spotlightMonster == null) {
-					spotlightMonster = MonsterDatabase.getInstance().getByRace(s);
+					spotlightMonster = MonsterDatabase.getInstance(
+						config.getDatabaseFile()).getByRace(s);
 					if (spotlightMonster == null) {
 						exitAfterArgs = true;     
 					}
@@ -416,6 +598,47 @@ public class MonsterMetrics {
 		}
 	}
 
+	/**
+		Parse option for a sequential test.
+		Takes error percents alpha & beta (if one given, use for both).
+	*/
+	private void parseSequentialTestOption(String s) {
+		Pattern p = Pattern.compile("(:\\d+)(:\\d+)?");
+		Matcher m = p.matcher(s.substring(2));
+		if (m.matches()) {
+			int alphaPct = Integer.parseInt(m.group(1).substring(1));
+			int betaPct = (m.group(2) != null)
+				? Integer.parseInt(m.group(2).substring(1)) : alphaPct;
+			if (0 < alphaPct && alphaPct < 50 && 0 < betaPct && betaPct < 50) {
+				sequentialTest = new SequentialTest(
+					alphaPct / 100.0, betaPct / 100.0);
+				return;
+			}
+		}
+		System.err.println("Could not parse sequential-test command.");
+		exitAfterArgs = true;
+	}
+
+	/**
+		Parse option to recompute stored results.
+		Takes an optional date; results made before it are recomputed.
+		With no date, all are recomputed (and the store rewritten).
+	*/
+	private void parseRecomputeOption(String s) {
+		useResultStore = true;
+		if (s.length() == 2) {
+			recomputeBefore = LocalDate.MAX;
+			return;
+		}
+		try {
+			recomputeBefore = LocalDate.parse(getParamString(s));
+		}
+		catch (DateTimeParseException e) {
+			System.err.println("Error: Could not read date argument: " + s);
+			exitAfterArgs = true;
+		}
+	}
+
 	/**
 		Report monster metrics as commanded.
 	*/
@@ -426,19 +649,50 @@ public class MonsterMetrics {
 		else {
 			reportOneMonster(spotlightMonster);
 		}
+		if (resultStore != null) {
+			try {
+				resultStore.save();
+			}
+			catch (IOException e) {
+				System.err.println("Failed to write EHD result store.");
+			}
+		}
 	}
 
 	/**
 		Report number of fighters at each level to match all monsters.
+
+		Monsters may be assessed in parallel; each gets its own random
+		context, split in database order, and reports are printed in that
+		same order as they come due. So output is the same for any number
+		of threads, and can be diffed against an older sequential run.
 	*/
 	private void reportAllMonsters() {
+		ExecutorService executor = null;
+		if (monsterThreads > 1) {
+			FightBatch.loadTables();
+			executor = Executors.newFixedThreadPool(monsterThreads);
+		}
 
 		// Analyze each monster
+		Deque<Future<String>> pending = new ArrayDeque<Future<String>>();
 		for (Monster m: MonsterDatabase.getInstance()) {
 			if (!m.hasUndefinedEHD()) {
-				reportOneMonster(m);
+				RollContext context = RollContext.current().split();
+				Callable<String> task = () -> getReportInContext(m, context);
+				pending.add(executor != null 
+					? executor.submit(task) : new FutureTask<String>(task));
+				if (pending.size() >= monsterThreads) {
+					printNextReport(pending);
+				}
 			}
 		}
+		while (!pending.isEmpty()) {
+			printNextReport(pending);
+		}
+		if (executor != null) {
+			executor.shutdown();
+		}
 		
 		// Give notice if no monsters reported
 		if (!printedSomeMonster) {
@@ -449,49 +703,141 @@ public class MonsterMetrics {
 		System.out.println();
 	}
 
+	/**
+		Print the report at the head of a queue when it is done.
+	*/
+	private void printNextReport(Deque<Future<String>> pending) {
+		Future<String> next = pending.remove();
+		try {
+			if (next instanceof FutureTask) {
+				((FutureTask<String>) next).run();
+			}
+			String report = next.get();
+			if (!report.isEmpty()) {
+				System.out.print(report);
+				printedSomeMonster = true;
+			}
+		}
+		catch (InterruptedException | ExecutionException e) {
+			System.err.println("Error in monster assessment: " + e);
+		}
+	}
+
+	/**
+		Get report for one monster, using a given random context.
+		May be called from multiple threads at once.
+	*/
+	private String getReportInContext(Monster monster, RollContext context) {
+		RollContext previous = RollContext.install(context);
+		SimulationConfig previousConfig = SimulationConfig.install(config);
+		try {
+			return getMonsterReport(monster);
+		}
+		finally {
+			SimulationConfig.install(previousConfig);
+			RollContext.install(previous);
+		}
+	}
+
 	/**
 		Report equated fighters and estimated EHD for one monster.
 	*/
 	private void reportOneMonster(Monster monster) {
+		String report = getMonsterReport(monster);
+		if (!report.isEmpty()) {
+			System.out.print(report);
+			printedSomeMonster = true;
+		}
+	}
 
-		// Compute EHD values
-		double[] eqFighters = getEquatedFighters(monster);
+	/**
+		Compute equated fighters and estimated EHD for one monster.
+		@return report text (empty if nothing to print)
+	*/
+	private String getMonsterReport(Monster monster) {
+		monsterFightsRun.get()[0] = 0;
+
+		// Compute EHD values (or recall from store)
+		String storeKey = getResultStoreKey(monster);
+		EHDResultStore.Result stored 
+			= (storeKey != null) ? resultStore.get(storeKey) : null;
+		double[] eqFighters = (stored != null) 
+			? stored.getEquatedFighters() : getEquatedFighters(monster);
 		double[] eqFightersHD = getEquatedFightersHD(eqFighters);
 		double estEHD = getDblArrayHarmonicMean(eqFightersHD);
+		if (storeKey != null && stored == null) {
+			resultStore.put(storeKey, new EHDResultStore.Result(
+				monster.getRace(), LocalDate.now(), estEHD,
+				monsterFightsRun.get()[0], eqFighters));
+		}
 		boolean reviseEHD = !isEHDClose(monster.getEHD(), estEHD);
 
-		// Print stats as requested
+		// Report stats as requested
+		StringBuilder sb = new StringBuilder();
 		if (reviseEHD || !displayOnlyRevisions || spotlightMonster == monster) {
-			System.out.println(monster.getRace() + ": "
+			sb.append(monster.getRace() + ": "
 				+ "Old EHD " + monster.getEHD() + ", "
 				+ "New EHD " + Math.round(estEHD)
-				+ " (" + roundDbl(estEHD, 2) + ")");
+				+ " (" + roundDbl(estEHD, 2) + ")" + NL);
 			if (displayEquatedFighters) {
-				System.out.println("\tEF " + toString(eqFighters, 1));
+				sb.append("\tEF " + toString(eqFighters, 1) + NL);
 			}
 			if (displayEquatedFightersHD) {
-				System.out.println("\tEFHD " + toString(eqFightersHD, 1));
+				sb.append("\tEFHD " + toString(eqFightersHD, 1) + NL);
 			}
  			if (graphEquatedFightersHD) {
- 				graphDblArray(eqFightersHD);
+ 				sb.append(graphDblArray(eqFightersHD));
 			}
 			if (showParityWinRatios) {
 				double[] parityWins = getParityWinRatios(monster);
-				System.out.println("\tPWR " + toString(parityWins, 2));
+				sb.append("\tPWR " + toString(parityWins, 2) + NL);
 			}
 			if (showBestNumberMatch) {
 				int[] bestNumbers = getBestNumberArray(monster);
-				System.out.println("\tBNM " + Arrays.toString(bestNumbers));
+				sb.append("\tBNM " + Arrays.toString(bestNumbers) + NL);
 			}
 			if (showBestLevelMatch) {
 				int bestLevelMatch = getBestLevelMatch(monster);
-				System.out.println("\tBest level match: " + bestLevelMatch);
+				sb.append("\tBest level match: " + bestLevelMatch + NL);
 			}								
+			if (displayFightsRun) {
+				sb.append("\tFights run: " + monsterFightsRun.get()[0]
+					+ (stored != null ? " (stored EF from " 
+						+ stored.getFights() + ")" : "") + NL);
+			}
 			if (anySpecialPrinting()) {
-				System.out.println();
+				sb.append(NL);
 			}
-			printedSomeMonster = true;
 		}
+		matchupCache.clear(monster);
+		return sb.toString();
+	}
+
+	/**
+		Get the key for a monster's result in the store.
+		@return the key, or null if not using the store
+	*/
+	private String getResultStoreKey(Monster monster) {
+		if (resultStore == null) {
+			return null;
+		}
+		String[] row = MonsterDatabase.getInstance().getSourceRow(monster);
+		return (row != null) 
+			? EHDResultStore.makeKey(row, getSimulationParameters()) : null;
+	}
+
+	/**
+		Describe all parameters that affect equated fighters.
+	*/
+	private String getSimulationParameters() {
+		return "fights=" + numberOfFights
+			+ ",armor=" + armorType
+			+ ",magic=" + pctMagicPerLevel
+			+ ",wizards=" + wizardFrequency
+			+ ",sweep=" + config.useSweepAttacks()
+			+ ",test=" + sequentialTest
+			+ ",pool=" + poolMonotoneProbes
+			+ ",reservoir=" + reservoirSize;
 	}
 
 	/**
@@ -500,7 +846,8 @@ public class MonsterMetrics {
 	private boolean anySpecialPrinting() {
 		return displayEquatedFighters	|| displayEquatedFightersHD 
 			|| graphEquatedFightersHD || showParityWinRatios
-			|| showBestLevelMatch || showBestNumberMatch;
+			|| showBestLevelMatch || showBestNumberMatch
+			|| displayFightsRun;
 	}
 
 	/**
@@ -628,31 +975,32 @@ public class MonsterMetrics {
 	}
 
 	/**
-		Print a graph of a double array.
+		Make a text graph of a double array.
 	*/
-	private void graphDblArray(double[] array) {
-		System.out.println();
+	private String graphDblArray(double[] array) {
+		StringBuilder sb = new StringBuilder(NL);
 		double maxVal = getDblArrayMax(array);
 		long maxStepY = Math.round(maxVal / GRAPH_Y_INTERVAL);
 
 		// Graph body
 		for (long ystep = maxStepY; ystep >= 0; ystep--) {
-			System.out.print("|");
+			sb.append("|");
 			for (int x = 1; x <= MAX_LEVEL; x++) {
 				double val = array[x - 1];
 				long valStep = Math.round(val / GRAPH_Y_INTERVAL);
 				boolean atThisHeight = (valStep == ystep);
-				System.out.print(atThisHeight ? "*" : " ");
+				sb.append(atThisHeight ? "*" : " ");
 			}
-			System.out.println();
+			sb.append(NL);
 		}
 		
 		// X-axis
-		System.out.print("+");
+		sb.append("+");
 		for (int x = 1; x <= MAX_LEVEL; x++) {
-			System.out.print("-");
+			sb.append("-");
 		}
-		System.out.println("\n");
+		sb.append("\n" + NL);
+		return sb.toString();
 	}
 
 	/**
@@ -666,14 +1014,14 @@ public class MonsterMetrics {
 
 		// Consider one monster to many fighters
 		int numFighters = matchFight(
-			n -> ratioMonstersBeatFighters(monster, 1, fighterLevel, n, true)); 
+			n -> tallyMonstersBeatFighters(monster, 1, fighterLevel, n).invert()); 
 		if (numFighters > 1) {
 			return numFighters;
 		}
 
 		// Consider one fighter to many monsters.
 		int numMonsters = matchFight(
-			n -> ratioMonstersBeatFighters(monster, n, fighterLevel, 1, false));
+			n -> tallyMonstersBeatFighters(monster, n, fighterLevel, 1));
 		if (numMonsters > 1) {
 			return -numMonsters;
 		}
@@ -684,16 +1032,17 @@ public class MonsterMetrics {
 
 	/**
 		Search for a matched fight based on some parameter.
-		@param winRatioFunc Must be increasing in parameter.
+		@param tallyFunc Win ratio must be increasing in parameter.
 	*/
-	private int matchFight(Function<Integer, Double> winRatioFunc) {
+	private int matchFight(IntFunction<MatchupCache.Tally> tallyFunc) {
+		ProbeSeries series = new ProbeSeries(tallyFunc, true);
 		int low = 0;
 		int high = MAX_ENEMIES;
 
 		// Binary search on parameter
 		while (high - low > 1) {
 			int mid = (low + high) / 2;
-			double midVal = winRatioFunc.apply(mid);
+			double midVal = series.getRatio(mid);
 			if (midVal < 0.5) {
 				low = mid;
 			}
@@ -703,8 +1052,8 @@ public class MonsterMetrics {
 		}
 
 		// Choose from adjacent values
-		double lowVal = winRatioFunc.apply(low);
-		double highVal = winRatioFunc.apply(high);
+		double lowVal = series.getPooledRatio(low);
+		double highVal = series.getPooledRatio(high);
 		return isCloserToHalf(lowVal, highVal) ? low : high;
 	}
 
@@ -726,44 +1075,82 @@ public class MonsterMetrics {
 		Monster monsterType, int monsterNumber, 
 		int fighterLevel, int fighterNumber, 
 		boolean invert) 
+	{
+		MatchupCache.Tally tally = tallyMonstersBeatFighters(
+			monsterType, monsterNumber, fighterLevel, fighterNumber);
+		return invertIfNeeded(tally.getRatio(), invert);
+	}
+
+	/**
+		Get tally of fights where these monsters beat these fighters.
+		Uses the stored result if this matchup was measured before.
+	*/
+	private MatchupCache.Tally tallyMonstersBeatFighters(
+		Monster monsterType, int monsterNumber, 
+		int fighterLevel, int fighterNumber) 
 	{
 		assert monsterType != null;
 		assert monsterNumber > 0 || fighterNumber > 0;
 
 		// Check degenerate cases
 		if (monsterNumber <= 0) {
-			return invertIfNeeded(0, invert);
+			return new MatchupCache.Tally(0);
 		}
 		if (fighterNumber <= 0) {
-			return invertIfNeeded(1, invert);
+			return new MatchupCache.Tally(1);
 		}
 		if (fighterLevel < 0) {
-			return invertIfNeeded(1, invert);
+			return new MatchupCache.Tally(1);
 		}
 
-		// Run many fights
-		int fight = 0, wins = 0;
-		while (fight < numberOfFights) {
-			fight++;
+		// Check for stored result
+		MatchupCache.Key key = new MatchupCache.Key(
+			monsterType, monsterNumber, fighterLevel, fighterNumber,
+			armorType, wizardFrequency, config.useSweepAttacks());
+		MatchupCache.Tally tally = matchupCache.get(key);
+		if (tally != null) {
+			return tally;
+		}
 
-			// Fight & track if monster wins
-			Party ftrParty = makeFighterParty(fighterLevel, fighterNumber);
-			Party monParty = new Party(monsterType, monsterNumber);
-			FightManager manager = new FightManager(ftrParty, monParty);
-			if (manager.fight() == monParty) {
-				wins++;
-			}			
+		// Run many fights (shortcut for a lopsided matchup)
+		FightBatch.StopRule stopRule = (sequentialTest != null)
+			? sequentialTest
+			: (fights, wins) -> testLopsidedMatch(fights, wins)
+				|| testLopsidedMatch(fights, fights - wins);
+		FightBatch batch = new FightBatch(
+			() -> monstersWinFight(monsterType, monsterNumber, 
+				fighterLevel, fighterNumber),
+			numberOfFights, stopRule);
+		batch.run();
+		countFightsRun(batch.getFights());
+
+		// Store the result
+		tally = new MatchupCache.Tally(batch.getFights(), batch.getWins());
+		matchupCache.put(key, tally);
+		return tally;
+	}
 
-			// Shortcut for a lopsided matchup.
-			if (testLopsidedMatch(fight, wins)
-				|| testLopsidedMatch(fight, fight - wins))
-			{
-				break;
-			}
-		}
+	/**
+		Run one fight of monsters vs. fighters.
+		May be called from multiple threads at once.
+		@return true if the monsters win
+	*/
+	private boolean monstersWinFight(
+		Monster monsterType, int monsterNumber, 
+		int fighterLevel, int fighterNumber)
+	{
+		Party ftrParty = makeFighterParty(fighterLevel, fighterNumber);
+		Party monParty = new Party(monsterType, monsterNumber);
+		FightManager manager = new FightManager(ftrParty, monParty);
+		return manager.fight() == monParty;
+	}
 
-		// Compute win ratio
-		return invertIfNeeded((double) wins / fight, invert);
+	/**
+		Count fights run for the current monster & process.
+	*/
+	private void countFightsRun(int fights) {
+		monsterFightsRun.get()[0] += fights;
+		totalFightsRun.addAndGet(fights);
 	}
 
 	/**
@@ -788,6 +1175,7 @@ public class MonsterMetrics {
 
 	/**
 		Create a specified party of fighters.
+		Characters are copies drawn from the prebuilt pools.
 	*/
 	private Party makeFighterParty(int level, int number) {
 		Party party = new Party();
@@ -796,10 +1184,10 @@ public class MonsterMetrics {
 			if (wizardFrequency > 0 
 				&& Dice.roll(wizardFrequency) == 1)
 			{
-				character = newWizard(level);
+				character = wizardPool.draw(level);
 			}
 			else {
-				character = newFighter(level);
+				character = fighterPool.draw(level);
 			}
 			party.add(character);
 		}
@@ -813,12 +1201,14 @@ public class MonsterMetrics {
 		(So: Do not use standard Character equip or magic.)
 	*/
 	private Character newFighter(int level) {
-		Character f = new Character("Human", "Fighter", level, null); 
+		Character f = new Character("Human", "Fighter", level, null, false); 
+		f.beginStatsBatch();
 		f.setArmor(Armor.makeType(armorType));
 		f.setShield(Armor.makeType(Armor.Type.Shield));
 		f.addEquipment(newSword(level));
 		f.addEquipment(Weapon.silverDagger());
 		f.addEquipment(Weapon.torch());
+		f.endStatsBatch();
 		return f;
 	}
 
@@ -841,7 +1231,7 @@ public class MonsterMetrics {
 		(So: Do not use standard Character equip or magic.)
 	*/
 	private Character newWizard(int level) {
-		Character f = new Character("Human", "Wizard", level, null); 
+		Character f = new Character("Human", "Wizard", level, null, false); 
 		f.addEquipment(Weapon.silverDagger());
 		f.addEquipment(Weapon.torch());
 		return f;
@@ -903,6 +1293,7 @@ public class MonsterMetrics {
 			}
 			sumTurns += manager.getTurnCount();
 		}
+		countFightsRun(numberOfFights);
 		
 		// Return result
 		double winRatio = (double) monWins / numberOfFights;
@@ -956,27 +1347,38 @@ public class MonsterMetrics {
 			+ "\t" + bestLevelMatch
 			+ "\t" + stats.winRatio
 			+ "\t" + stats.avgTurns);
+		matchupCache.clear(monster);
 	}
 
 	/**
 		Compute an array of win ratios for monster at
 		linear-EHD-parity vs. standard party at various levels.
+		Each is a full sample of fights (no cache or early stopping).
 	*/
 	private double[] getParityWinRatios(Monster monster) {
 		double[] array = new double[MAX_LEVEL];
 		for (int level = 1; level <= MAX_LEVEL; level++) {
-			BattleStats stats = getBattleStats(monster, level);
-			array[level - 1] = stats.winRatio;
+			int monNumber = getBalancedMonsterNumbers(
+				monster, level, expectedPartySize);
+			array[level - 1] = (monster.getEHD() <= 0 || monNumber <= 0) ? -1
+				: fullSampleMonstersBeatFighters(monster, monNumber, level);
 		}	
 		return array;
 	}
 
 	/**
-		Get monster win ratio for same-size parties.
+		Get monster win ratio from a full sample of fights.
 	*/
-	private double ratioMonstersBeatFighters(Monster monster, int ftrLevel) {
-		return ratioMonstersBeatFighters(monster, expectedPartySize, 
-			ftrLevel, expectedPartySize, false);	
+	private double fullSampleMonstersBeatFighters(
+		Monster monster, int monNumber, int ftrLevel) 
+	{
+		FightBatch batch = new FightBatch(
+			() -> monstersWinFight(monster, monNumber, 
+				ftrLevel, expectedPartySize),
+			numberOfFights, FightBatch.NEVER_STOP);
+		batch.run();
+		countFightsRun(batch.getFights());
+		return (double) batch.getWins() / batch.getFights();
 	}
 
 	/**
@@ -987,14 +1389,17 @@ public class MonsterMetrics {
 		@return level at which monsters & PCs are closest to 50% win ratio
 	*/
 	private int getBestLevelMatch(Monster monster) {
+		ProbeSeries series = new ProbeSeries(
+			level -> tallyMonstersBeatFighters(monster, expectedPartySize, 
+				level, expectedPartySize), false);
 		int lowLevel = 1;
 		int highLevel = monster.getHD();
 
 		// Raise the high-level bound until the monster loses
-		double maxRatio = ratioMonstersBeatFighters(monster, highLevel);
+		double maxRatio = series.getRatio(highLevel);
 		while (maxRatio > 0.5) {
 			highLevel *= 2;
-			maxRatio = ratioMonstersBeatFighters(monster, highLevel);
+			maxRatio = series.getRatio(highLevel);
 			if (highLevel > MAX_OPP_LEVEL) {
 				highLevel = MAX_OPP_LEVEL;
 				break;
@@ -1004,7 +1409,7 @@ public class MonsterMetrics {
 		// Binary search on level
 		while (highLevel - lowLevel > 1) {
 			int midLevel = (lowLevel + highLevel) / 2;
-			double midRatio = ratioMonstersBeatFighters(monster, midLevel);
+			double midRatio = series.getRatio(midLevel);
 			if (midRatio > 0.5) {
 				lowLevel = midLevel;
 			}
@@ -1014,8 +1419,8 @@ public class MonsterMetrics {
 		}
 
 		// Choose from adjacent values
-		double lowRatio = ratioMonstersBeatFighters(monster, lowLevel);
-		double highRatio = ratioMonstersBeatFighters(monster, highLevel);
+		double lowRatio = series.getPooledRatio(lowLevel);
+		double highRatio = series.getPooledRatio(highLevel);
 		return isCloserToHalf(lowRatio, highRatio) ? lowLevel : highLevel;
 	} 
 
@@ -1037,14 +1442,16 @@ public class MonsterMetrics {
 		@return level at which monsters & PCs are closest to 50% win ratio
 	*/
 	private int getBestNumberMatch(Monster monster, int ftrLevel) {
+		ProbeSeries series = new ProbeSeries(
+			number -> tallyMonstersBeatFighters(monster, number, 
+				ftrLevel, expectedPartySize), true);
 		int lowNumber = 0;
 		int highNumber = MAX_MON_NUMBER;
 
 		// Binary search on number
 		while (highNumber - lowNumber > 1) {
 			int midNumber = (lowNumber + highNumber) / 2;
-			double midRatio = ratioMonstersBeatFighters(
-				monster, midNumber, ftrLevel);
+			double midRatio = series.getRatio(midNumber);
 			if (midRatio < 0.5) {
 				lowNumber = midNumber;
 			}
@@ -1054,8 +1461,8 @@ public class MonsterMetrics {
 		}
 
 		// Choose from adjacent values
-		double lowRatio = ratioMonstersBeatFighters(monster, lowNumber);
-		double highRatio = ratioMonstersBeatFighters(monster, highNumber);
+		double lowRatio = series.getPooledRatio(lowNumber);
+		double highRatio = series.getPooledRatio(highNumber);
 		return isCloserToHalf(lowRatio, highRatio) ? lowNumber : highNumber;
 	} 
 
@@ -1098,6 +1505,7 @@ public class MonsterMetrics {
 			System.out.print("\t" + val);
 		}	
 		System.out.println();
+		matchupCache.clear(monster);
 	}
 
 	/**
@@ -1107,39 +1515,45 @@ public class MonsterMetrics {
 	*/
 	private void showSampleFight() {
 		assert spotlightMonster != null;
-		FightManager.setPlayByPlayReporting(true);
-		Monster monster = spotlightMonster;
+		SimulationConfig previous
+			= SimulationConfig.install(config.withPlayByPlay(true));
+		try {
+			Monster monster = spotlightMonster;
+
+			// Check valid EHD
+			if (monster.getEHD() <= 0) {
+				System.out.println("Cannot compute number appearing for "
+					+ "EHD 0 monster: " + monster.getRace() + "\n");
+				return;
+			}
 
-		// Check valid EHD
-		if (monster.getEHD() <= 0) {
-			System.out.println("Cannot compute number appearing for "
-				+ "EHD 0 monster: " + monster.getRace() + "\n");
-			return;
-		}
+			// Set up parties to fight
+			int ftrLevel = (commandPartyLevel != 0) 
+				? commandPartyLevel : Math.min(monster.getEHD(), MAX_LEVEL);
+			int monNumber = getBalancedMonsterNumbers(
+				monster, ftrLevel, expectedPartySize);
+			if (monNumber <= 0) {
+				monNumber = 1;
+			}
+			Party ftrParty = makeFighterParty(ftrLevel, expectedPartySize);
+			Party monParty = new Party(monster, monNumber);
+			FightManager manager = new FightManager(ftrParty, monParty);
+		
+			// Report on party composition
+			System.out.println(monParty + " (EHD " + monster.getEHD() + ")\n");
+			for (Monster c: ftrParty) {
+				System.out.println(c.shortString());
+			}
+			System.out.println();
 
-		// Set up parties to fight
-		int ftrLevel = (commandPartyLevel != 0) 
-			? commandPartyLevel : Math.min(monster.getEHD(), MAX_LEVEL);
-		int monNumber = getBalancedMonsterNumbers(
-			monster, ftrLevel, expectedPartySize);
-		if (monNumber <= 0) {
-			monNumber = 1;
+			// Run the fight
+			manager.fight();
+			System.out.println("Turns elapsed: " + manager.getTurnCount());
+			System.out.println();
 		}
-		Party ftrParty = makeFighterParty(ftrLevel, expectedPartySize);
-		Party monParty = new Party(monster, monNumber);
-		FightManager manager = new FightManager(ftrParty, monParty);
-		
-		// Report on party composition
-		System.out.println(monParty + " (EHD " + monster.getEHD() + ")\n");
-		for (Monster c: ftrParty) {
-			System.out.println(c.shortString());
+		finally {
+			SimulationConfig.install(previous);
 		}
-		System.out.println();
-
-		// Run the fight
-		manager.fight();
-		System.out.println("Turns elapsed: " + manager.getTurnCount());
-		System.out.println();
 	}
 
 	/**
@@ -1194,8 +1608,12 @@ public class MonsterMetrics {
 
 	/**
 		Get win ratio for one solo monster vs. another.
+		Solved exactly if both are plain types (see DuelSolver).
 	*/
 	double getWinRatio(Monster atkType, Monster defType) {
+		if (DuelSolver.canSolve(atkType, defType)) {
+			return DuelSolver.winChanceOfTypes(atkType, defType);
+		}
 		int wins = 0;
 		for (int fight = 0; fight < numberOfFights; fight++) {
 			Party atkParty = new Party(atkType, 1);
@@ -1290,6 +1708,13 @@ public class MonsterMetrics {
 			long secDisplay = secDiff % 60;
 			System.out.println("Process elapsed time: " 
 				+ minDisplay + " min " + secDisplay + " sec\n");
+			if (displayFightsRun) {
+				System.out.println("Total fights run: " 
+					+ totalFightsRun.get() + "\n");
+			}
+		}
+		if (fightEventCounter != null) {
+			System.out.println(fightEventCounter + "\n");
 		}
 	}
 
@@ -1313,10 +1738,14 @@ public class MonsterMetrics {
 		MonsterMetrics metrics = new MonsterMetrics();
 		metrics.printBanner();
 		metrics.processArgs(args);
+		SimulationConfig.install(metrics.config);
 		if (metrics.exitAfterArgs) {
 			metrics.printUsage();
 		}
 		else {
+			if (!metrics.doPrintStatBlocks) {
+				metrics.buildCharacterPools();
+			}
 			if (metrics.waitForKeypress) {
 				waitForEnterKey();
 			}
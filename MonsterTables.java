@@ -155,7 +155,7 @@ public class MonsterTables implements Iterable<List<Monster>> {
 		Roll a random monster level for a given dungeon level.
 	*/
 	private int randomMonsterLevel(int dungeonLevel) {
-		int roll = new Dice(6).roll();
+		int roll = Dice.roll(6);
 		List<Integer> matrixRow = getMatrixRow(dungeonLevel);
 		for (int level = matrixRow.size() - 1; level > 0; level--) {
 			int minRoll = matrixRow.get(level);
@@ -178,28 +178,6 @@ public class MonsterTables implements Iterable<List<Monster>> {
 		return null;
 	}
 
-	/**
-		Get total kills for a given monster table.
-	*/
-	public int getTotalKillsAtLevel(int tableLevel) {
-		int total = 0;
-		for (Monster m: getTable(tableLevel)) {
-			total += m.getKillTally();
-		}
-		return total;
-	}
-
-	/**
-		Get grand total monster kills.
-	*/
-	public int getGrandTotalKills() {
-		int grandTotal = 0;
-		for (int i = 1; i <= getNumTables(); i++)	{
-			grandTotal += getTotalKillsAtLevel(i);
-		}
-		return grandTotal;
-	}
-
 	/**
 		Main test method.
 	*/
@@ -0,0 +1,383 @@
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+	Monster type (static stat block shared by all monsters of a kind).
+
+	Types are read once from the database, and every monster spawned
+	from a type refers back to it, so the stat block isn't copied per
+	combatant. Once built, a type never changes (so it may be read from
+	any thread); a monster that needs more specials takes a copy with
+	them added (see Monster.addSpecial).
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public class MonsterType {
+
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** Pattern for a hit dice descriptor (e.g., 3, 1/2, 4+1). */
+	private static final Pattern HIT_DICE_PATTERN 
+		= Pattern.compile("(\\d+)([x/]\\d+)?([+-]\\d+)?");
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Racial descriptor. */
+	private final String race;
+
+	/** Source rulebook code. */
+	private final String sourceBook;
+
+	/**
+		Monster type code.
+		(e.g., [A]nimal, [B]east, etc.).
+	*/
+	private final char typeCode;
+
+	/**
+		Environment code.
+		(e.g., [D]ungeon, [W]ilderness, etc.).
+	*/
+	private final char environment;
+
+	/** Dice for number appearing. */
+	private final Dice numberAppearing;
+
+	/** Armor class. */
+	private final int armorClass;
+
+	/** Movement rate in inches. */
+	private final int moveInches;
+
+	/** Hit dice (shared; do not modify). */
+	private final Dice hitDice;
+
+	/** In-lair percentage. */
+	private final int inLairPct;
+
+	/** Treasure type code. */
+	private final char treasureType;
+
+	/** Primary attack form (shared; do not modify). */
+	private final Attack primaryAttack;
+
+	/** Alignment. */
+	private final Alignment alignment;
+
+	/** Hit dice in decimal representation. */
+	private final float hitDiceDecimal;
+
+	/**
+		Equivalent hit dice.
+		(Challenge rating analog.)
+	*/
+	private final int equivalentHitDice;
+
+	/** String representation of special abilities. */
+	private final String specialsString;
+
+	/** Set of special abilities. */
+	private final SpecialSet specials;
+
+	/** Values (parameters) for special abilities, by ordinal. */
+	private final int[] specialParams;
+
+	/** Special abilities in ordinal order. */
+	private final SpecialType[] specialArray;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Basic constructor (no special abilities).
+	*/
+	public MonsterType(String race, int ac, int move, Dice hitDice,
+		Attack attack)
+	{
+		this.race = race;
+		this.armorClass = ac;
+		this.moveInches = move;
+		this.hitDice = hitDice;
+		this.primaryAttack = attack;
+		this.alignment = Alignment.Neutral;
+		sourceBook = null;
+		typeCode = 0;
+		environment = 0;
+		numberAppearing = null;
+		inLairPct = 0;
+		treasureType = 0;
+		hitDiceDecimal = 0;
+		equivalentHitDice = hitDice.getNum();
+		specialsString = "";
+		specials = new SpecialSet();
+		specialParams = new int[SpecialType.values().length];
+		specialArray = specials.toArray();
+	}
+
+	/**
+		Create a type from text file specification.
+		@param s specification string array.
+	*/
+	public MonsterType(String[] s) {
+
+		// Primary fields
+		race = s[0];
+		numberAppearing = new Dice(s[1]).compile();
+		armorClass = CSVReader.parseInt(s[2]);
+		moveInches = CSVReader.parseInt(s[3]);
+		hitDice = parseHitDice(s[4]);
+		inLairPct = CSVReader.parseInt(s[5]);
+		treasureType = s[6].charAt(0);
+		primaryAttack = parseAttackRoutine(s[7], s[8]);
+		alignment = Alignment.getFromChar(s[9].charAt(0));
+		typeCode = s[10].charAt(0);
+		equivalentHitDice = parseEHD(s[11]);
+		hitDiceDecimal = parseFloat(s[12]);
+		environment = s[13].charAt(0);
+		sourceBook = s[14];
+		specialsString = s[15];
+
+		// Special abilities
+		specials = new SpecialSet();
+		specialParams = new int[SpecialType.values().length];
+		setSpecialAbilities();
+		specialArray = specials.toArray();
+	}
+
+	/**
+		Constructor (copy with one special ability added).
+	*/
+	public MonsterType(MonsterType src, SpecialType special, int param) {
+		this(src, new SpecialType[] { special }, new int[] { param });
+	}
+
+	/**
+		Constructor (copy with all specials of another type added).
+	*/
+	public MonsterType(MonsterType src, MonsterType other) {
+		this(src, other.specialArray, other.getSpecialParams());
+	}
+
+	/**
+		Constructor (copy with given special abilities added).
+		@param added specials to add
+		@param addedParams parameters for each special added
+	*/
+	private MonsterType(MonsterType src, SpecialType[] added, 
+		int[] addedParams) 
+	{
+		race = src.race;
+		sourceBook = src.sourceBook;
+		typeCode = src.typeCode;
+		environment = src.environment;
+		numberAppearing = src.numberAppearing;
+		armorClass = src.armorClass;
+		moveInches = src.moveInches;
+		hitDice = src.hitDice;
+		inLairPct = src.inLairPct;
+		treasureType = src.treasureType;
+		primaryAttack = src.primaryAttack;
+		alignment = src.alignment;
+		hitDiceDecimal = src.hitDiceDecimal;
+		equivalentHitDice = src.equivalentHitDice;
+		specialsString = src.specialsString;
+		specials = new SpecialSet(src.specials);
+		specialParams = src.specialParams.clone();
+		for (int i = 0; i < added.length; i++) {
+			addSpecial(added[i], addedParams[i]);
+		}
+		specialArray = specials.toArray();
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	// Primary accessors
+	public String getRace() { return race; }
+	public String getSourceBook() { return sourceBook; }
+	public char getTypeCode() { return typeCode; }
+	public char getEnvironment() { return environment; }
+	public Dice getNumberAppearing() { return numberAppearing; }
+	public int getArmorClass() { return armorClass; }
+	public int getMoveInches() { return moveInches; }
+	public Dice getHitDice() { return hitDice; }
+	public int getInLairPct() { return inLairPct; }
+	public char getTreasureType() { return treasureType; }
+	public Attack getAttack() { return primaryAttack; }
+	public Alignment getAlignment() { return alignment; }
+	public float getHitDiceDecimal() { return hitDiceDecimal; }
+	public int getEquivalentHitDice() { return equivalentHitDice; }
+	public String getSpecialsString() { return specialsString; }
+
+	/**
+		Parse hit dice record from short descriptor.
+	*/
+	private Dice parseHitDice(String s) {
+		Matcher m = HIT_DICE_PATTERN.matcher(s);
+		if (m.matches()) {
+			int mul = 1, add = 0;
+			int num = Integer.parseInt(m.group(1));
+			if (m.group(2) != null) {
+				boolean positive = m.group(2).startsWith("x");
+				int val = Integer.parseInt(m.group(2).substring(1));
+				mul = positive ? val : -val;
+			}
+			if (m.group(3) != null) {
+				add = Integer.parseInt(m.group(3));
+			}
+			return new Dice(num, Monster.BASE_HIT_DIE, mul, add).compile();
+		}
+		System.err.println("Could not parse hit dice descriptor: " + s);
+		return null;
+	}
+
+	/**
+		Parse attack routine from rate and damage.
+	*/
+	private Attack parseAttackRoutine(String atkRate, String damageDesc) {
+		int attackBonus = hitDice.getNum();
+		int attackRate = Integer.parseInt(atkRate);
+		return new Attack(null, attackRate, attackBonus, new Dice(damageDesc));
+	}
+
+	/**
+		Parse the EHD value (possibly undefined).
+	*/
+	private int parseEHD(String s) {
+		return s.equals("?") ? Monster.UNDEFINED_EHD : Integer.parseInt(s);
+	}
+
+	/**
+		Parse a floating-point string safely.
+	*/
+	private float parseFloat(String s) {
+		try {
+			return Float.parseFloat(s);
+		}
+		catch (Exception e) {
+			return 0.0f;
+		}
+	}
+
+	/**
+		Parse special ability list from descriptor string.
+	*/
+	private void setSpecialAbilities() {
+		if (specialsString.length() > 1) {
+			String[] parts = specialsString.split(", ");
+			for (String part: parts) {
+				SpecialAbility ability =
+					SpecialAbility.createFromString(part);
+				if (ability != null) {
+					addSpecial(ability.getType(), ability.getParam());
+				}
+			}
+		}
+		addImpliedSpecials();
+		checkPostSpecialMods();
+	}
+
+	/**
+		Add some special qualifiers based on name or type.
+	*/
+	private void addImpliedSpecials() {
+		if (race.endsWith("Dragon") || race.endsWith("Dragon Turtle")) {
+			addSpecial(SpecialType.Dragon, 0);
+		}
+		if (race.endsWith("Golem")) {
+			addSpecial(SpecialType.Golem, 0);
+		}
+		if (typeCode == 'U') {
+			addSpecial(SpecialType.Undead, 0);
+		}
+		if (typeCode == 'S') {
+			addSpecial(SpecialType.Slime, 0);
+		}
+	}
+
+	/**
+		Check for a special modifiers after parsing special abilities.
+	*/
+	private void checkPostSpecialMods() {
+
+		// Joint types halve attack bonus by hit dice
+		if (hasSpecial(SpecialType.JointType)) {
+			if (primaryAttack != null) {
+				primaryAttack.setBonus(hitDice.getNum() / 2);
+			}
+		}
+
+		// Some NPC types may entirely override attack bonus by hit dice
+		if (hasSpecial(SpecialType.SetAttackBonus)) {
+			if (primaryAttack != null) {
+				primaryAttack.setBonus(getSpecialParam(SpecialType.SetAttackBonus));
+			}
+		}
+	}
+
+	/**
+		Add a special ability.
+		Only for a type under construction.
+	*/
+	private void addSpecial(SpecialType type, int param) {
+		specials.add(type);
+		specialParams[type.ordinal()] = param;
+	}
+
+	/**
+		Check if this type has a given special ability.
+	*/
+	public boolean hasSpecial(SpecialType type) {
+		return specials.contains(type);
+	}
+
+	/**
+		Get the parameter for a given special ability.
+	*/
+	public int getSpecialParam(SpecialType type) {
+		assert specials.contains(type);
+		return specialParams[type.ordinal()];
+	}
+
+	/**
+		Get the first special ability in a category (e.g., breath weapon).
+		@return the ability, or null if none
+	*/
+	public SpecialType getFirstSpecial(SpecialSet category) {
+		return specials.firstIn(category);
+	}
+
+	/**
+		Get the special abilities in ordinal order.
+		The array is shared, and must not be modified.
+	*/
+	public SpecialType[] getSpecials() {
+		return specialArray;
+	}
+
+	/**
+		Get the parameters for our special abilities, in ordinal order.
+	*/
+	private int[] getSpecialParams() {
+		int[] params = new int[specialArray.length];
+		for (int i = 0; i < params.length; i++) {
+			params[i] = specialParams[specialArray[i].ordinal()];
+		}
+		return params;
+	}
+
+	/**
+		Identify this type as a string.
+	*/
+	public String toString() {
+		return race;
+	}
+}
@@ -67,6 +67,9 @@ public class NPCGenerator {
 	/** Flag to escape after parsing arguments. */
 	private boolean exitAfterArgs;
 
+	/** Simulation config for this run. */
+	private SimulationConfig config;
+
 	//--------------------------------------------------------------------------
 	//  Constructors
 	//--------------------------------------------------------------------------
@@ -77,9 +80,10 @@ public class NPCGenerator {
 	public NPCGenerator() {
 		Dice.initialize();
 		inputProfile = new GenProfile();
-		Character.setFeatUsage(true);
-		Character.setBoostInitialAbilities(true);
-		Character.setPctMagicPerLevel(PCT_MAGIC_PER_LEVEL);
+		config = SimulationConfig.current()
+			.withFeats(true)
+			.withBoostInitialAbilities(true)
+			.withPctMagicPerLevel(PCT_MAGIC_PER_LEVEL);
 		numNPCs = 1;
 	}
 
@@ -108,6 +112,8 @@ public class NPCGenerator {
 		System.out.println("\t-n number (=#)");
 		System.out.println("\t-b breaks between NPCs (=#)");
 		System.out.println("\t-p PDF output");
+		System.out.println("\t-S seed random numbers for a reproducible run "
+			+ "(=#)");
 		System.out.println();
 	}
 
@@ -125,6 +131,7 @@ public class NPCGenerator {
 					case 'n': numNPCs = getParamInt(s); break;
 					case 'b': lineBreaks = getParamInt(s); break;
 					case 'p': printPDFs = true; break;
+					case 'S': Dice.setSeed(getParamInt(s)); break;
 					default: exitAfterArgs = true; break;
 				}
 			}
@@ -320,6 +327,7 @@ public class NPCGenerator {
 		NPCGenerator gen = new NPCGenerator();
 		gen.printBanner();
 		gen.parseArgs(args);
+		SimulationConfig.install(gen.config);
 		if (gen.exitAfterArgs) {
 			gen.printUsage();
 		}
@@ -1,8 +1,17 @@
+import java.io.File;
 import java.io.IOException; 
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Scanner;
 
 /**
 	Name generator for characters.
 
+	Names are stored compactly: all name text in one shared char buffer,
+	with start offsets by name index. At load time, the names are also
+	bucketed by race & sex code, so a random name of given race & sex is
+	one uniform draw from its bucket.
+
 	@author Daniel R. Collins (dcollins@superdan.net)
 	@since 2016-02-12
 */
@@ -25,30 +34,6 @@ public class NameGenerator {
 	/** Base percent chance for female name. */
 	private static final int BASE_PERCENT_FEMALE = 15;
 
-	//--------------------------------------------------------------------------
-	//  Inner class
-	//--------------------------------------------------------------------------
-
-	/** Class to store information on one name. */
-	class NameData {
-
-		/** Name in question. */
-		private String name;
-		
-		/** Racial identifier. */
-		private char race;
-		
-		/** Gender identifier. */
-		private char sex;
-
-		/** Constructor. */
-		NameData(String[] s) {
-			name = s[0];
-			race = s[1].charAt(0);
-			sex = s[2].charAt(0);
-		}
-	}
-
 	//--------------------------------------------------------------------------
 	//  Fields
 	//--------------------------------------------------------------------------
@@ -56,8 +41,14 @@ public class NameGenerator {
 	/** The singleton class instance. */
 	private static NameGenerator instance = null;
 
-	/** The name list data. */
-	private NameData[] nameList;
+	/** Text of all names, end to end. */
+	private char[] nameChars;
+
+	/** Start of each name in the text (plus end of the last). */
+	private int[] nameStarts;
+
+	/** Indexes of names for each race & sex (see getBucket()). */
+	private int[][] buckets;
 
 	/** Chance for female name. */
 	private int percentFemale;
@@ -72,17 +63,95 @@ public class NameGenerator {
 	*/
 	protected NameGenerator() throws IOException {
 		percentFemale = BASE_PERCENT_FEMALE;
-		String[][] table = CSVReader.readFile(NAMES_FILE);
-		nameList = new NameData[table.length - 1];
-		for (int i = 1; i < table.length; i++) {
-			nameList[i - 1] = new NameData(table[i]);
-		}		
+		readNames(NAMES_FILE);
 	}
 
 	//--------------------------------------------------------------------------
 	//  Methods
 	//--------------------------------------------------------------------------
 
+	/**
+		Read the names file into compact storage & buckets.
+		Streams the file a line at a time (skipping the header).
+	*/
+	private void readNames(String filename) throws IOException {
+		StringBuilder text = new StringBuilder();
+		int[] starts = new int[1024];
+		int[] bucketOf = new int[1024];
+		int[] bucketSizes = new int[RACE_CODES.length * SEX_CODES.length];
+		int count = 0;
+		try (Scanner scan = new Scanner(new File(filename), 
+				Charset.defaultCharset().name()))
+		{
+			if (scan.hasNextLine()) {
+				scan.nextLine();
+			}
+			while (scan.hasNextLine()) {
+				String[] fields = CSVReader.splitLine(scan.nextLine());
+				if (fields.length < 3 || fields[1].isEmpty() 
+						|| fields[2].isEmpty()) {
+					continue;
+				}
+				int bucket = getBucket(fields[1].charAt(0), 
+					fields[2].charAt(0));
+				if (bucket < 0) {
+					continue;
+				}
+				if (count + 1 >= starts.length) {
+					starts = Arrays.copyOf(starts, starts.length * 2);
+					bucketOf = Arrays.copyOf(bucketOf, bucketOf.length * 2);
+				}
+				starts[count] = text.length();
+				bucketOf[count] = bucket;
+				bucketSizes[bucket]++;
+				text.append(fields[0]);
+				count++;
+			}
+		}
+		starts[count] = text.length();
+		nameChars = text.toString().toCharArray();
+		nameStarts = Arrays.copyOf(starts, count + 1);
+		buckets = new int[bucketSizes.length][];
+		for (int b = 0; b < buckets.length; b++) {
+			buckets[b] = new int[bucketSizes[b]];
+			bucketSizes[b] = 0;
+		}
+		for (int i = 0; i < count; i++) {
+			int b = bucketOf[i];
+			buckets[b][bucketSizes[b]++] = i;
+		}
+	}
+
+	/**
+		Get bucket index for a race & sex code (-1 if either is invalid).
+	*/
+	private static int getBucket(char race, char sex) {
+		int raceIndex = indexOf(RACE_CODES, race);
+		int sexIndex = indexOf(SEX_CODES, sex);
+		return (raceIndex < 0 || sexIndex < 0) ? -1 
+			: raceIndex * SEX_CODES.length + sexIndex;
+	}
+
+	/**
+		Find a code in an array (-1 if not present).
+	*/
+	private static int indexOf(char[] codes, char code) {
+		for (int i = 0; i < codes.length; i++) {
+			if (codes[i] == code) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+		Get the name at an index.
+	*/
+	private String getName(int index) {
+		return new String(nameChars, nameStarts[index], 
+			nameStarts[index + 1] - nameStarts[index]);
+	}
+
 	/**
 		Access the singleton class instance.
 	*/
@@ -111,12 +180,9 @@ public class NameGenerator {
 	public String getRandom(char race, char sex) {
 		assert isValidRace(race);
 		assert isValidSex(sex);
-		NameData nameData;
-		do {
-			int index = Dice.roll(nameList.length) - 1;
-			nameData = nameList[index];
-		} while (!(nameData.race == race && nameData.sex == sex));
-		return nameData.name;
+		int[] bucket = buckets[getBucket(race, sex)];
+		assert bucket.length > 0;
+		return getName(bucket[Dice.roll(bucket.length) - 1]);
 	}
 
 	/**
@@ -163,24 +229,14 @@ public class NameGenerator {
 		Is this a valid race code?
 	*/
 	private boolean isValidRace(char race) {
-		for (char code: RACE_CODES) {
-			if (code == race) {
-				return true;
-			}
-		}	
-		return false;	
+		return indexOf(RACE_CODES, race) >= 0;
 	}
 
 	/**
 		Is this a valid sex code?
 	*/
 	private boolean isValidSex(char sex) {
-		for (char code: SEX_CODES) {
-			if (code == sex) {
-				return true;
-			}
-		}	
-		return false;	
+		return indexOf(SEX_CODES, sex) >= 0;
 	}
 
 	/**
@@ -202,5 +258,17 @@ public class NameGenerator {
 			System.out.println(nameGen.getRandom());
 		}
 		System.out.println();
+
+		// Time draws for the rarest common pair (female dwarves)
+		int number = 1000000;
+		long start = System.nanoTime();
+		int totalLength = 0;
+		for (int i = 0; i < number; i++) {
+			totalLength += nameGen.getRandom('D', 'F').length();
+		}
+		long time = System.nanoTime() - start;
+		System.out.println(String.format(
+			"Female dwarf names: %.0f ns per draw (mean length %.2f)",
+			(double) time / number, (double) totalLength / number));
 	}
 }
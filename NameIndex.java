@@ -0,0 +1,97 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+	Hash index of items by name, built at load time.
+
+	Used by the data tables (monsters, classes, spells, special types)
+	in place of linear scans, with the same result as a scan in order:
+	where names collide, the first item is kept. Matching is exact, or
+	else ignores case if so made. In the latter case, an exact match is
+	tried first (so lookups by the usual spelling make no new strings),
+	but only the first of its names ignoring case is held there.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-17
+*/
+
+public class NameIndex<T> {
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Items by exact name. */
+	private final Map<String, T> exactMap;
+
+	/** Items by name folded to lower case (null if case matters). */
+	private final Map<String, T> foldedMap;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor (from items in order).
+		@param items items to index
+		@param nameOf function to get the name of an item
+		@param ignoreCase match names ignoring case?
+	*/
+	public NameIndex(Iterable<T> items, Function<T, String> nameOf,
+		boolean ignoreCase)
+	{
+		exactMap = new HashMap<String, T>();
+		foldedMap = ignoreCase ? new HashMap<String, T>() : null;
+		for (T item: items) {
+			String name = nameOf.apply(item);
+			if (foldedMap == null
+				|| foldedMap.putIfAbsent(fold(name), item) == null)
+			{
+				exactMap.putIfAbsent(name, item);
+			}
+		}
+	}
+
+	/**
+		Constructor (from an array of items).
+	*/
+	public NameIndex(T[] items, Function<T, String> nameOf,
+		boolean ignoreCase)
+	{
+		this(Arrays.asList(items), nameOf, ignoreCase);
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Fold a name for case-insensitive matching.
+	*/
+	private static String fold(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+		Get the first item with a given name.
+		@return the item, or null if none
+	*/
+	public T get(String name) {
+		if (name == null) {
+			return null;
+		}
+		T item = exactMap.get(name);
+		return (item != null || foldedMap == null)
+			? item : foldedMap.get(fold(name));
+	}
+
+	/**
+		Get the number of distinct names indexed.
+	*/
+	public int size() {
+		return foldedMap != null ? foldedMap.size() : exactMap.size();
+	}
+}
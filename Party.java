@@ -1,7 +1,6 @@
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Collections;
 
 /**
 	One party (force, team, band, or group) of Monsters.
@@ -28,6 +27,18 @@ public class Party implements Iterable<Monster> {
 	/** List of outgoing members. */
 	private List<Monster> outgoing;
 
+	/** 
+		Members who may still be open to melee this round.
+		Entries found closed are swap-removed when picked.
+	*/
+	private Monster[] meleeTargets;
+
+	/** Number of entries in use in the melee target array. */
+	private int numMeleeTargets;
+
+	/** Have members changed since the melee target array was built? */
+	private boolean meleeTargetsStale;
+
 	//--------------------------------------------------------------------------
 	//  Constructor
 	//--------------------------------------------------------------------------
@@ -40,6 +51,8 @@ public class Party implements Iterable<Monster> {
 		fallen = new ArrayList<Monster>();
 		incoming = new ArrayList<Monster>();
 		outgoing = new ArrayList<Monster>();
+		meleeTargets = new Monster[0];
+		meleeTargetsStale = true;
 	}
 
 	/**
@@ -79,7 +92,7 @@ public class Party implements Iterable<Monster> {
 	public Monster getFallen(int idx) { return fallen.get(idx); }
 
 	// Basic mutators
-	public void add(Monster m) { members.add(m); }
+	public void add(Monster m) { members.add(m); meleeTargetsStale = true; }
 
 	/**
 		Is this party operational?
@@ -90,11 +103,41 @@ public class Party implements Iterable<Monster> {
 
 	/**
 		Clear records of attacks taken.
+		Starts a new round of melee targets with all members.
 	*/
 	public void clearTimesMeleed() {
 		for (Monster m: this) {
 			m.clearTimesMeleed();
 		} 
+		buildMeleeTargets();
+	}
+
+	/**
+		Build the array of possible melee targets from all members.
+	*/
+	private void buildMeleeTargets() {
+		int num = members.size();
+		if (meleeTargets.length < num) {
+			meleeTargets = new Monster[Math.max(num, 2 * meleeTargets.length)];
+		}
+		for (int i = 0; i < num; i++) {
+			meleeTargets[i] = members.get(i);
+		}
+		for (int i = num; i < numMeleeTargets; i++) {
+			meleeTargets[i] = null;
+		}
+		numMeleeTargets = num;
+		meleeTargetsStale = false;
+	}
+
+	/**
+		Remove an entry from the melee target array.
+		Swaps the last entry into its place.
+	*/
+	private void removeMeleeTarget(int idx) {
+		numMeleeTargets--;
+		meleeTargets[idx] = meleeTargets[numMeleeTargets];
+		meleeTargets[numMeleeTargets] = null;
 	}
 
 	/**
@@ -108,16 +151,25 @@ public class Party implements Iterable<Monster> {
 	}
 
 	/**
-		Pick a target for melee.
+		Pick a target for melee (uniformly among those open to it).
+
+		Members only close to melee within a round (attacked the maximum
+		times, or put out of the fight), so any pick found closed is 
+		dropped from the target array for the rest of the round. Each 
+		member is dropped at most once, so picks take constant time on 
+		average, however large the party.
 	*/
 	public Monster getRandomMeleeTarget() {
-		if (isOpenToMelee()) {
-			while (true) {
-				Monster m = random();
-				if (m.isOpenToMelee()) {
-					return m;
-				}
+		if (meleeTargetsStale) {
+			buildMeleeTargets();
+		}
+		while (numMeleeTargets > 0) {
+			int idx = Dice.roll(numMeleeTargets) - 1;
+			Monster m = meleeTargets[idx];
+			if (m.isOpenToMelee()) {
+				return m;
 			}
+			removeMeleeTarget(idx);
 		}
 		return null; 
 	}
@@ -126,11 +178,16 @@ public class Party implements Iterable<Monster> {
 		Check if any members are yet un-melee'd.
 	*/
 	public boolean isOpenToMelee() {
-		for (Monster m: this) {
-			if (m.isOpenToMelee())  {
+		if (meleeTargetsStale) {
+			buildMeleeTargets();
+		}
+		while (numMeleeTargets > 0) {
+			int last = numMeleeTargets - 1;
+			if (meleeTargets[last].isOpenToMelee()) {
 				return true;
 			}
-		} 
+			removeMeleeTarget(last);
+		}
 		return false;
 	}
 
@@ -142,7 +199,7 @@ public class Party implements Iterable<Monster> {
 		// Make a copy of members & shuffle it
 		List<Monster> shuffledMembers 
 			= new ArrayList<Monster>(members);
-		Collections.shuffle(shuffledMembers);
+		Dice.shuffle(shuffledMembers);
 
 		// Deal out top elements from shuffle
 		List<Monster> group = new ArrayList<Monster>();
@@ -217,6 +274,7 @@ public class Party implements Iterable<Monster> {
 			Monster member = get(i); 
 			if (member.horsDeCombat()) {
 				members.remove(i);
+				meleeTargetsStale = true;
 				if (!member.isIllusion()) {
 					fallen.add(member); 
 				}
@@ -236,6 +294,7 @@ public class Party implements Iterable<Monster> {
 	*/
 	public void sortMembersUp() {
 		members.sort((a, b) -> a.getHD() - b.getHD());
+		meleeTargetsStale = true;
 	}
 
 	/**
@@ -243,13 +302,15 @@ public class Party implements Iterable<Monster> {
 	*/
 	public void sortMembersDown() {
 		members.sort((a, b) -> b.getHD() - a.getHD());
+		meleeTargetsStale = true;
 	}
 
 	/**
 		Shuffle the list of members.
 	*/
 	public void shuffleMembers() {
-		Collections.shuffle(members);
+		Dice.shuffle(members);
+		meleeTargetsStale = true;
 	}
 
 	/**
@@ -259,6 +320,7 @@ public class Party implements Iterable<Monster> {
 		for (Monster m: this) {
 			m.setPerfectHealth();
 		}
+		meleeTargetsStale = true;
 	}
 
 	/**
@@ -402,6 +464,9 @@ public class Party implements Iterable<Monster> {
 	public void handleMemberChanges() {
 		this.members.addAll(incoming);
 		this.members.removeAll(outgoing);
+		if (!incoming.isEmpty() || !outgoing.isEmpty()) {
+			meleeTargetsStale = true;
+		}
 		incoming.clear();
 		outgoing.clear();
 	}
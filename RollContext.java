@@ -0,0 +1,123 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+	Random number context for dice rolls.
+
+	Each thread rolls from its own generator, so worker threads never
+	contend on a shared lock. A run may be seeded for exact reproduction;
+	in that case new contexts are split from the seed in a fixed order,
+	and work farmed out to other threads should be handed an explicit
+	split() of the caller's context.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public class RollContext {
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Source from which new thread contexts are split. */
+	private static SplittableRandom spawnSource = new SplittableRandom();
+
+	/** Context bound to each thread. */
+	private static final ThreadLocal<RollContext> current
+		= ThreadLocal.withInitial(RollContext::spawn);
+
+	/** Random number generator for this context. */
+	private final SplittableRandom random;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor (wrap a generator).
+	*/
+	private RollContext(SplittableRandom random) {
+		this.random = random;
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Spawn a new context from the shared source.
+	*/
+	private static synchronized RollContext spawn() {
+		return new RollContext(spawnSource.split());
+	}
+
+	/**
+		Get the context bound to the current thread.
+	*/
+	public static RollContext current() {
+		return current.get();
+	}
+
+	/**
+		Bind a context to the current thread.
+		@return the context previously bound
+	*/
+	public static RollContext install(RollContext context) {
+		RollContext previous = current.get();
+		current.set(context);
+		return previous;
+	}
+
+	/**
+		Seed all random numbers from this point on.
+		Rebinds the current thread to a fresh context from the seed.
+	*/
+	public static void setSeed(long seed) {
+		synchronized (RollContext.class) {
+			spawnSource = new SplittableRandom(seed);
+		}
+		current.set(spawn());
+	}
+
+	/**
+		Rebind the current thread to a fresh context from the shared source.
+		(E.g., for a pooled thread starting a new job.)
+	*/
+	public static void renew() {
+		current.set(spawn());
+	}
+
+	/**
+		Split off an independent context (e.g., for a worker thread).
+		Repeated splits from a seeded context give the same sequence.
+	*/
+	public RollContext split() {
+		return new RollContext(random.split());
+	}
+
+	/**
+		Get a random integer from 0 to bound - 1.
+	*/
+	public int nextInt(int bound) {
+		return random.nextInt(bound);
+	}
+
+	/**
+		Get a random double from 0 (inclusive) to 1 (exclusive).
+	*/
+	public double nextDouble() {
+		return random.nextDouble();
+	}
+
+	/**
+		Shuffle a list in place.
+		Same algorithm as Collections.shuffle().
+	*/
+	public <T> void shuffle(List<T> list) {
+		for (int i = list.size(); i > 1; i--) {
+			int j = random.nextInt(i);
+			list.set(j, list.set(i - 1, list.get(j)));
+		}
+	}
+}
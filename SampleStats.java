@@ -0,0 +1,103 @@
+/**
+	Running statistics for a sample of values.
+
+	Keeps count, mean, and sum of squared deviations (Welford's method),
+	so values can be added one at a time without being stored. Gives a 
+	95% confidence interval on the mean from Student's t for small 
+	samples, or the normal curve for large ones.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public class SampleStats {
+
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** Two-sided 95% critical values of t, by degrees of freedom 1-30. */
+	private static final double[] T_95 = {
+		12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+		2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+		2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042 };
+
+	/** Two-sided 95% critical value of the normal curve. */
+	private static final double Z_95 = 1.96;
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Number of values. */
+	private int count;
+
+	/** Mean of values. */
+	private double mean;
+
+	/** Sum of squared deviations from the mean. */
+	private double sumSqDev;
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Add a value to the sample.
+	*/
+	public void add(double x) {
+		count++;
+		double delta = x - mean;
+		mean += delta / count;
+		sumSqDev += delta * (x - mean);
+	}
+
+	/**
+		Get the number of values.
+	*/
+	public int size() {
+		return count;
+	}
+
+	/**
+		Get the mean.
+	*/
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+		Get the sample variance.
+		@return the variance, or NaN if fewer than two values
+	*/
+	public double getVariance() {
+		return count < 2 ? Double.NaN : sumSqDev / (count - 1);
+	}
+
+	/**
+		Get the sample standard deviation.
+	*/
+	public double getStdDev() {
+		return Math.sqrt(getVariance());
+	}
+
+	/**
+		Get the half-width of a 95% confidence interval on the mean.
+		@return the half-width, or NaN if fewer than two values
+	*/
+	public double getHalfWidth95() {
+		if (count < 2) {
+			return Double.NaN;
+		}
+		int df = count - 1;
+		double crit = df <= T_95.length ? T_95[df - 1] : Z_95;
+		return crit * getStdDev() / Math.sqrt(count);
+	}
+
+	/**
+		Identify this sample as a string.
+	*/
+	public String toString() {
+		return String.format("%.1f +/- %.1f", getMean(), getHalfWidth95());
+	}
+}
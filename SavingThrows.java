@@ -3,6 +3,10 @@ import java.io.IOException;
 /**
 	Saving throws table (singleton pattern).
 
+	Targets are precomputed at load into a dense table by class id (see
+	ClassIndex), level, and save type, so rolls in a fight do no lookups
+	by class name. Levels past the table are computed directly.
+
 	@author Daniel R. Collins (dcollins@superdan.net)
 	@since 2016-01-20
 */
@@ -37,6 +41,15 @@ public class SavingThrows {
 	/** OED-style adjustments per save type. */
 	static final int[] OED_ADJUST = {4, 3, 2, 1, 0};
 
+	/** Class that monsters save as. */
+	static final String MONSTER_SAVE_AS = "Fighter";
+
+	/** Highest level in the precomputed targets table. */
+	private static final int MAX_TABLE_LEVEL = 40;
+
+	/** Sides on the save die. */
+	private static final int SAVE_DIE = 20;
+
 	//--------------------------------------------------------------------------
 	//  Inner class
 	//--------------------------------------------------------------------------
@@ -83,6 +96,12 @@ public class SavingThrows {
 	/** Table of saving throw targets. */
 	private SaveRecord[] targetsTable;
 
+	/** Precomputed targets by class id, level, and save type. */
+	private byte[][][] targetsByClassId;
+
+	/** Class id for monster saves. */
+	private int monsterClassId;
+
 	//--------------------------------------------------------------------------
 	//  Constructors
 	//--------------------------------------------------------------------------
@@ -97,6 +116,7 @@ public class SavingThrows {
 		for (int i = 1; i < table.length; i++) {
 			targetsTable[i - 1] = new SaveRecord(table[i]);
 		}		
+		buildTargetsByClassId();
 	}
 
 	//--------------------------------------------------------------------------
@@ -118,6 +138,68 @@ public class SavingThrows {
 		return instance;
 	}
 
+	/**
+		Precompute targets for each class in the ClassIndex.
+	*/
+	private void buildTargetsByClassId() {
+		int numClasses = ClassIndex.getNumTypes();
+		targetsByClassId = new byte[numClasses][MAX_TABLE_LEVEL + 1][Type.SIZE];
+		for (int id = 0; id < numClasses; id++) {
+			String saveAs = ClassIndex.getTypeFromId(id).getSaveAsClass();
+			for (int level = 0; level <= MAX_TABLE_LEVEL; level++) {
+				for (Type type: Type.values()) {
+					targetsByClassId[id][level][type.ordinal()] 
+						= (byte) getSaveTarget(type, saveAs, level);
+				}
+			}
+		}
+		monsterClassId = ClassIndex.getTypeFromName(MONSTER_SAVE_AS).getId();
+	}
+
+	/**
+		Get the class id that monsters save as.
+	*/
+	public int getMonsterClassId() {
+		return monsterClassId;
+	}
+
+	/**
+		Roll a saving throw with a modifier, by class id.
+		@return True if the save was successful.
+	*/
+	public boolean rollSave(Type saveType, 
+		int classId, int level, int modifier) 
+	{
+		int natRoll = Dice.roll(SAVE_DIE);
+		int total = natRoll + modifier;
+		int target = getSaveTarget(saveType, classId, level);
+		return (natRoll > 1) && (total >= target);
+	}
+
+	/**
+		Get the chance to make a saving throw with a modifier, by class id.
+		Exact for the roll in rollSave() (natural 1 always fails).
+	*/
+	public double probSave(Type saveType, 
+		int classId, int level, int modifier) 
+	{
+		int minRoll = Math.max(2, getSaveTarget(saveType, classId, level) 
+			- modifier);
+		int successes = Math.max(0, SAVE_DIE - minRoll + 1);
+		return (double) successes / SAVE_DIE;
+	}
+
+	/**
+		Get the target score for a saving throw, by class id.
+	*/
+	public int getSaveTarget(Type saveType, int classId, int level) {
+		if (0 <= level && level <= MAX_TABLE_LEVEL) {
+			return targetsByClassId[classId][level][saveType.ordinal()];
+		}
+		return getSaveTarget(saveType, 
+			ClassIndex.getTypeFromId(classId).getSaveAsClass(), level);
+	}
+
 	/**
 		Roll a saving throw with a modifier.
 		@return True if the save was successful.
@@ -196,6 +278,7 @@ public class SavingThrows {
 		double ratio;
 		
 		// Test Ftr1 vs. Poison
+		int fighterId = ClassIndex.getTypeFromName("Fighter").getId();
 		System.out.println("Test Ftr1 vs. Poison (45%?)");
 		success = 0;
 		for (int i = 0; i < numRolls; i++) {
@@ -204,9 +287,11 @@ public class SavingThrows {
 			}
 		}
 		ratio = (double) success / numRolls;
-		System.out.println("Success ratio: " + ratio + "\n");
+		System.out.println("Success ratio: " + ratio 
+			+ " (exact " + st.probSave(Type.Death, fighterId, 1, 0) + ")\n");
 		
 		// Test Wiz20 vs. Spells
+		int wizardId = ClassIndex.getTypeFromName("Wizard").getId();
 		System.out.println("Test Wiz20 vs. Spells (90%?)");
 		success = 0;
 		for (int i = 0; i < numRolls; i++) {
@@ -215,6 +300,23 @@ public class SavingThrows {
 			}
 		}
 		ratio = (double) success / numRolls;
-		System.out.println("Success ratio: " + ratio + "\n");
+		System.out.println("Success ratio: " + ratio 
+			+ " (exact " + st.probSave(Type.Spells, wizardId, 20, 0) + ")\n");
+
+		// Check table against lookup by name
+		int mismatches = 0;
+		for (int id = 0; id < ClassIndex.getNumTypes(); id++) {
+			String saveAs = ClassIndex.getTypeFromId(id).getSaveAsClass();
+			for (int level = 0; level <= 2 * MAX_TABLE_LEVEL; level++) {
+				for (Type type: Type.values()) {
+					if (st.getSaveTarget(type, id, level) 
+							!= st.getSaveTarget(type, saveAs, level)) {
+						mismatches++;
+					}
+				}
+			}
+		}
+		System.out.println("Table mismatches vs. lookup by name: " 
+			+ mismatches + "\n");
 	}
 }
@@ -0,0 +1,119 @@
+/**
+	Wald's sequential probability ratio test (SPRT) on a win ratio.
+
+	Tests whether the chance of winning is above or below one half,
+	using an indifference zone of +/- halfWidth around 0.5. Fights are run
+	until the log-likelihood ratio crosses either bound, at which point the
+	side is settled with the requested error rates (alpha for calling it
+	above when it's truly below, beta for the reverse).
+	See Wald, Sequential Analysis (1947), Ch. 5.
+
+	The test depends only on counts of fights and wins, so one object
+	may be shared by many threads.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public class SequentialTest implements FightBatch.StopRule {
+
+	//--------------------------------------------------------------------------
+	//  Enumerations
+	//--------------------------------------------------------------------------
+
+	/** Possible decisions of the test. */
+	public enum Decision { Below, Above, Undecided };
+
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** Default half-width of indifference zone around 0.5. */
+	public static final double DEFAULT_HALF_WIDTH = 0.05;
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Log-likelihood increment for a win. */
+	private final double winStep;
+
+	/** Log-likelihood increment for a loss. */
+	private final double lossStep;
+
+	/** Upper bound to decide above one half. */
+	private final double upperBound;
+
+	/** Lower bound to decide below one half. */
+	private final double lowerBound;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor.
+		@param alpha chance to decide above when truly below
+		@param beta chance to decide below when truly above
+		@param halfWidth half-width of indifference zone around 0.5
+	*/
+	public SequentialTest(double alpha, double beta, double halfWidth) {
+		assert 0 < alpha && alpha < 0.5;
+		assert 0 < beta && beta < 0.5;
+		assert 0 < halfWidth && halfWidth < 0.5;
+		double p0 = 0.5 - halfWidth;
+		double p1 = 0.5 + halfWidth;
+		winStep = Math.log(p1 / p0);
+		lossStep = Math.log((1 - p1) / (1 - p0));
+		upperBound = Math.log((1 - beta) / alpha);
+		lowerBound = Math.log(beta / (1 - alpha));
+	}
+
+	/**
+		Constructor (default indifference zone).
+	*/
+	public SequentialTest(double alpha, double beta) {
+		this(alpha, beta, DEFAULT_HALF_WIDTH);
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Get the log-likelihood ratio for given results.
+	*/
+	public double getLogLikelihood(int fights, int wins) {
+		return wins * winStep + (fights - wins) * lossStep;
+	}
+
+	/**
+		Get the decision for given results.
+	*/
+	public Decision decide(int fights, int wins) {
+		double llr = getLogLikelihood(fights, wins);
+		if (llr >= upperBound) {
+			return Decision.Above;
+		}
+		else if (llr <= lowerBound) {
+			return Decision.Below;
+		}
+		else {
+			return Decision.Undecided;
+		}
+	}
+
+	/**
+		Is the decision settled for given results?
+	*/
+	public boolean test(int fights, int wins) {
+		return decide(fights, wins) != Decision.Undecided;
+	}
+
+	/**
+		Identify this object as a string.
+	*/
+	public String toString() {
+		return "SPRT bounds (" + lowerBound + ", " + upperBound + ")";
+	}
+}
@@ -0,0 +1,285 @@
+/**
+	Settings for one simulation run (rule options, printing, data files).
+
+	Instances never change once made; a changed setting makes a new one
+	(e.g., config.withSweepAttacks(true)). Like the random context, a
+	config is bound to each thread: an application installs its config
+	on the thread running it, and work farmed out to other threads must
+	install the caller's config there too (see FightBatch). So runs with
+	different settings can go on at once in one process.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-17
+*/
+
+public class SimulationConfig {
+
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** Default percent chance per level for magic items. */
+	public static final int DEFAULT_PCT_MAGIC_PER_LEVEL = 5;
+
+	/** Default settings. */
+	public static final SimulationConfig DEFAULT = new SimulationConfig();
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Config bound to each thread. */
+	private static final ThreadLocal<SimulationConfig> current
+		= ThreadLocal.withInitial(() -> DEFAULT);
+
+	/** Assign feats to characters? */
+	private boolean useFeats;
+
+	/** Give fighters attacks by level vs. 1 HD creatures? */
+	private boolean useSweepAttacks;
+
+	/** Boost abilities & hit points at time of creation? */
+	private boolean boostInitialAbilities;
+
+	/** Apply aging effects? */
+	private boolean applyAgingEffects;
+
+	/** Percent chance per level for magic items. */
+	private int pctMagicPerLevel;
+
+	/** Prefer spells castable in the simulation? */
+	private boolean preferCastableSpells;
+
+	/** Threads for fight batches (1 = run in caller's thread). */
+	private int fightThreads;
+
+	/** Listener for play-by-play fight events (null = none). */
+	private FightListener fightListener;
+
+	/** Print EHDs in monster stat blocks? */
+	private boolean printEHDs;
+
+	/** Print hit points in monster stat blocks? */
+	private boolean printHitPoints;
+
+	/** Print feats in character descriptor? */
+	private boolean printFeats;
+
+	/** Print abilities in character descriptor? */
+	private boolean printAbilities;
+
+	/** Print equipment in character descriptor? */
+	private boolean printEquipment;
+
+	/** Print personality in character descriptor? */
+	private boolean printPersonality;
+
+	/** Print spells in character descriptor? */
+	private boolean printSpells;
+
+	/** Monster database filename. */
+	private String databaseFile;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor (default settings).
+	*/
+	private SimulationConfig() {
+		pctMagicPerLevel = DEFAULT_PCT_MAGIC_PER_LEVEL;
+		fightThreads = 1;
+		printFeats = true;
+		printAbilities = true;
+		printEquipment = true;
+		printPersonality = true;
+		printSpells = true;
+		databaseFile = MonsterDatabase.DEFAULT_FILE;
+	}
+
+	/**
+		Constructor (copy, for a changed setting).
+	*/
+	private SimulationConfig(SimulationConfig src) {
+		useFeats = src.useFeats;
+		useSweepAttacks = src.useSweepAttacks;
+		boostInitialAbilities = src.boostInitialAbilities;
+		applyAgingEffects = src.applyAgingEffects;
+		pctMagicPerLevel = src.pctMagicPerLevel;
+		preferCastableSpells = src.preferCastableSpells;
+		fightThreads = src.fightThreads;
+		fightListener = src.fightListener;
+		printEHDs = src.printEHDs;
+		printHitPoints = src.printHitPoints;
+		printFeats = src.printFeats;
+		printAbilities = src.printAbilities;
+		printEquipment = src.printEquipment;
+		printPersonality = src.printPersonality;
+		printSpells = src.printSpells;
+		databaseFile = src.databaseFile;
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Get the config bound to the current thread.
+	*/
+	public static SimulationConfig current() {
+		return current.get();
+	}
+
+	/**
+		Bind a config to the current thread.
+		@return the config previously bound
+	*/
+	public static SimulationConfig install(SimulationConfig config) {
+		SimulationConfig previous = current.get();
+		current.set(config);
+		return previous;
+	}
+
+	// Accessors
+	public boolean useFeats() { return useFeats; }
+	public boolean useSweepAttacks() { return useSweepAttacks; }
+	public boolean boostInitialAbilities() { return boostInitialAbilities; }
+	public boolean applyAgingEffects() { return applyAgingEffects; }
+	public int getPctMagicPerLevel() { return pctMagicPerLevel; }
+	public boolean preferCastableSpells() { return preferCastableSpells; }
+	public int getFightThreads() { return fightThreads; }
+	public FightListener getFightListener() { return fightListener; }
+	public boolean printEHDs() { return printEHDs; }
+	public boolean printHitPoints() { return printHitPoints; }
+	public boolean printFeats() { return printFeats; }
+	public boolean printAbilities() { return printAbilities; }
+	public boolean printEquipment() { return printEquipment; }
+	public boolean printPersonality() { return printPersonality; }
+	public boolean printSpells() { return printSpells; }
+	public String getDatabaseFile() { return databaseFile; }
+
+	/**
+		Copy with feats assigned to characters (or not).
+	*/
+	public SimulationConfig withFeats(boolean b) {
+		SimulationConfig c = new SimulationConfig(this);
+		c.useFeats = b;
+		return c;
+	}
+
+	/**
+		Copy with fighter sweep attacks (or not).
+	*/
+	public SimulationConfig withSweepAttacks(boolean b) {
+		SimulationConfig c = new SimulationConfig(this);
+		c.useSweepAttacks = b;
+		return c;
+	}
+
+	/**
+		Copy with abilities & hit points boosted at creation (or not).
+	*/
+	public SimulationConfig withBoostInitialAbilities(boolean b) {
+		SimulationConfig c = new SimulationConfig(this);
+		c.boostInitialAbilities = b;
+		return c;
+	}
+
+	/**
+		Copy with aging effects (or not).
+	*/
+	public SimulationConfig withAgingEffects(boolean b) {
+		SimulationConfig c = new SimulationConfig(this);
+		c.applyAgingEffects = b;
+		return c;
+	}
+
+	/**
+		Copy with a given percent chance per level for magic items.
+	*/
+	public SimulationConfig withPctMagicPerLevel(int pct) {
+		SimulationConfig c = new SimulationConfig(this);
+		c.pctMagicPerLevel = pct;
+		return c;
+	}
+
+	/**
+		Copy with preference for castable spells (or not).
+	*/
+	public SimulationConfig withPreferCastableSpells(boolean b) {
+		SimulationConfig c = new SimulationConfig(this);
+		c.preferCastableSpells = b;
+		return c;
+	}
+
+	/**
+		Copy with a given number of threads for fight batches.
+	*/
+	public SimulationConfig withFightThreads(int threads) {
+		SimulationConfig c = new SimulationConfig(this);
+		c.fightThreads = Math.max(threads, 1);
+		return c;
+	}
+
+	/**
+		Copy with a given listener for fight events (null for none).
+	*/
+	public SimulationConfig withFightListener(FightListener listener) {
+		SimulationConfig c = new SimulationConfig(this);
+		c.fightListener = listener;
+		return c;
+	}
+
+	/**
+		Copy with play-by-play reporting (as text to standard output).
+		If on, any listener already set gets events also (e.g., a counter).
+	*/
+	public SimulationConfig withPlayByPlay(boolean b) {
+		return withFightListener(b
+			? FightListener.both(fightListener, new FightReporter()) : null);
+	}
+
+	/**
+		Copy with EHDs printed in stat blocks (or not).
+	*/
+	public SimulationConfig withPrintEHDs(boolean b) {
+		SimulationConfig c = new SimulationConfig(this);
+		c.printEHDs = b;
+		return c;
+	}
+
+	/**
+		Copy with hit points printed in stat blocks (or not).
+	*/
+	public SimulationConfig withPrintHitPoints(boolean b) {
+		SimulationConfig c = new SimulationConfig(this);
+		c.printHitPoints = b;
+		return c;
+	}
+
+	/**
+		Copy with given parts printed in character descriptors.
+	*/
+	public SimulationConfig withCharacterPrinting(boolean feats,
+		boolean abilities, boolean equipment, boolean personality,
+		boolean spells)
+	{
+		SimulationConfig c = new SimulationConfig(this);
+		c.printFeats = feats;
+		c.printAbilities = abilities;
+		c.printEquipment = equipment;
+		c.printPersonality = personality;
+		c.printSpells = spells;
+		return c;
+	}
+
+	/**
+		Copy with a given monster database file.
+	*/
+	public SimulationConfig withDatabaseFile(String filename) {
+		SimulationConfig c = new SimulationConfig(this);
+		c.databaseFile = filename;
+		return c;
+	}
+}
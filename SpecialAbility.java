@@ -10,6 +10,14 @@ import java.util.regex.Matcher;
 
 public class SpecialAbility {
 
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** Pattern for an ability descriptor (e.g., Poison, Regeneration (3)). */
+	private static final Pattern ABILITY_PATTERN 
+		= Pattern.compile("(\\w+)( \\(([-]?\\d+))?\\)?");
+
 	//--------------------------------------------------------------------------
 	//  Fields
 	//--------------------------------------------------------------------------
@@ -47,8 +55,7 @@ public class SpecialAbility {
 		Create new special ability from a string.
 	*/
 	public static SpecialAbility createFromString(String s) {
-		Pattern p = Pattern.compile("(\\w+)( \\(([-]?\\d+))?\\)?");
-		Matcher m = p.matcher(s);
+		Matcher m = ABILITY_PATTERN.matcher(s);
 		if (m.matches()) {
 			SpecialType type = SpecialType.findByName(m.group(1));
 			if (type != null) {
@@ -0,0 +1,279 @@
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+	Set of special types, stored as a bitset over ordinals.
+
+	Checked many times per attack in combat, so membership is one array
+	read & mask, and category checks (e.g., any disabling condition) are
+	one AND per word against a precomputed mask. Iterates in ordinal order,
+	the same as an EnumSet.
+
+	@author Daniel R. Collins (dcollins@superdan.net)
+	@since 2026-10-16
+*/
+
+public class SpecialSet {
+
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** All special types, by ordinal. */
+	private static final SpecialType[] TYPES = SpecialType.values();
+
+	/** Number of words in a bitset. */
+	private static final int WORDS = (TYPES.length + 63) >>> 6;
+
+	/** Types that are disabling conditions. */
+	public static final SpecialSet DISABLING
+		= makeMask(SpecialType::isDisabling);
+
+	/** Types that are breath weapons. */
+	public static final SpecialSet BREATH_WEAPONS
+		= makeMask(SpecialType::isBreathWeapon);
+
+	/** Types that are gaze weapons. */
+	public static final SpecialSet GAZE_WEAPONS
+		= makeMask(SpecialType::isGazeWeapon);
+
+	/** Types that are summons abilities. */
+	public static final SpecialSet SUMMONS_ABILITIES
+		= makeMask(SpecialType::isSummonsAbility);
+
+	/** Types that are attachment abilities. */
+	public static final SpecialSet ATTACHMENT_ABILITIES
+		= makeMask(SpecialType::isAttachmentAbility);
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Bits for members, by ordinal. */
+	private final long[] bits;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor (empty set).
+	*/
+	public SpecialSet() {
+		bits = new long[WORDS];
+	}
+
+	/**
+		Constructor (copy).
+	*/
+	public SpecialSet(SpecialSet src) {
+		bits = src.bits.clone();
+	}
+
+	//--------------------------------------------------------------------------
+	//  Methods
+	//--------------------------------------------------------------------------
+
+	/**
+		Make a mask of all types in a category.
+	*/
+	private static SpecialSet makeMask(Predicate<SpecialType> category) {
+		SpecialSet mask = new SpecialSet();
+		for (SpecialType type: TYPES) {
+			if (category.test(type)) {
+				mask.add(type);
+			}
+		}
+		return mask;
+	}
+
+	/**
+		Add a type to the set.
+	*/
+	public void add(SpecialType type) {
+		int i = type.ordinal();
+		bits[i >>> 6] |= 1L << i;
+	}
+
+	/**
+		Remove a type from the set.
+	*/
+	public void remove(SpecialType type) {
+		int i = type.ordinal();
+		bits[i >>> 6] &= ~(1L << i);
+	}
+
+	/**
+		Check if a type is in the set.
+	*/
+	public boolean contains(SpecialType type) {
+		int i = type.ordinal();
+		return (bits[i >>> 6] & (1L << i)) != 0;
+	}
+
+	/**
+		Remove all types from the set.
+	*/
+	public void clear() {
+		for (int w = 0; w < WORDS; w++) {
+			bits[w] = 0;
+		}
+	}
+
+	/**
+		Add all types in another set.
+	*/
+	public void addAll(SpecialSet other) {
+		for (int w = 0; w < WORDS; w++) {
+			bits[w] |= other.bits[w];
+		}
+	}
+
+	/**
+		Is the set empty?
+	*/
+	public boolean isEmpty() {
+		for (int w = 0; w < WORDS; w++) {
+			if (bits[w] != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+		Check if this set has any type in another set (e.g., a category).
+	*/
+	public boolean intersects(SpecialSet mask) {
+		for (int w = 0; w < WORDS; w++) {
+			if ((bits[w] & mask.bits[w]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+		Get the first type (by ordinal) also in another set.
+		@return the type, or null if none
+	*/
+	public SpecialType firstIn(SpecialSet mask) {
+		for (int w = 0; w < WORDS; w++) {
+			long both = bits[w] & mask.bits[w];
+			if (both != 0) {
+				return TYPES[(w << 6) + Long.numberOfTrailingZeros(both)];
+			}
+		}
+		return null;
+	}
+
+	/**
+		Get the number of types in the set.
+	*/
+	public int size() {
+		int count = 0;
+		for (int w = 0; w < WORDS; w++) {
+			count += Long.bitCount(bits[w]);
+		}
+		return count;
+	}
+
+	/**
+		Get the members as an array in ordinal order.
+	*/
+	public SpecialType[] toArray() {
+		SpecialType[] array = new SpecialType[size()];
+		int n = 0;
+		for (int w = 0; w < WORDS; w++) {
+			long word = bits[w];
+			while (word != 0) {
+				array[n++] = TYPES[(w << 6) + Long.numberOfTrailingZeros(word)];
+				word &= word - 1;
+			}
+		}
+		return array;
+	}
+
+	/**
+		Identify this set as a string.
+	*/
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (SpecialType type: toArray()) {
+			if (sb.length() > 1) {
+				sb.append(", ");
+			}
+			sb.append(type);
+		}
+		return sb.append("]").toString();
+	}
+
+	/**
+		Main test method.
+
+		Times lookups in this set against an EnumSet & EnumMap with boxed
+		parameters (the prior representation), over a spread of types.
+		Takes number of passes from command line.
+	*/
+	public static void main(String[] args) {
+		int passes = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+		SpecialType[] probes = TYPES;
+
+		// Build equal sets of some common specials
+		SpecialType[] members = { SpecialType.Poison, SpecialType.Fear,
+			SpecialType.Regeneration, SpecialType.MagicToHit,
+			SpecialType.FireBreath, SpecialType.Illusion };
+		SpecialSet bitset = new SpecialSet();
+		int[] params = new int[TYPES.length];
+		Set<SpecialType> enumSet = EnumSet.noneOf(SpecialType.class);
+		EnumMap<SpecialType, Integer> enumMap
+			= new EnumMap<SpecialType, Integer>(SpecialType.class);
+		for (SpecialType s: members) {
+			bitset.add(s);
+			params[s.ordinal()] = s.ordinal();
+			enumSet.add(s);
+			enumMap.put(s, Integer.valueOf(s.ordinal()));
+		}
+
+		// Run each representation twice (first pass is warm-up)
+		for (int round = 0; round < 2; round++) {
+			long sum = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < passes; i++) {
+				SpecialType s = probes[i % probes.length];
+				if (enumSet.contains(s)) {
+					sum += enumMap.get(s).intValue();
+				}
+				for (SpecialType c: enumSet) {
+					if (c.isDisabling()) {
+						sum++;
+						break;
+					}
+				}
+			}
+			long enumTime = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0; i < passes; i++) {
+				SpecialType s = probes[i % probes.length];
+				if (bitset.contains(s)) {
+					sum += params[s.ordinal()];
+				}
+				if (bitset.intersects(DISABLING)) {
+					sum++;
+				}
+			}
+			long bitTime = System.nanoTime() - start;
+			if (round > 0) {
+				System.out.println("EnumSet/EnumMap: "
+					+ enumTime / passes + "." + (enumTime * 10 / passes) % 10
+					+ " ns per lookup");
+				System.out.println("SpecialSet/int[]: "
+					+ bitTime / passes + "." + (bitTime * 10 / passes) % 10
+					+ " ns per lookup");
+				System.out.println("(Checksum " + sum + ")");
+			}
+		}
+	}
+}
@@ -40,6 +40,14 @@ public enum SpecialType {
 	Shrieking, Conjuration, DropAttack, Slime, JointType, SetAttackBonus,
 	SlowAttacking, Droning, DeathTouch, FearTouch, Exploding, Illusion;
 	
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Index of types by name. */
+	private static final NameIndex<SpecialType> nameIndex
+		= new NameIndex<SpecialType>(values(), SpecialType::name, false);
+
 	//--------------------------------------------------------------------------
 	//  Methods
 	//--------------------------------------------------------------------------
@@ -48,12 +56,7 @@ public enum SpecialType {
 		Find special type matching a string.
 	*/
 	public static SpecialType findByName(String s) {
-		for (SpecialType t: SpecialType.values()) {
-			if (s.equals(t.name())) {
-				return t;
-			}
-		}
-		return null;
+		return nameIndex.get(s);
 	}
 	
 	/**
@@ -61,6 +61,9 @@ public class Spell {
 
 	/** Game-sim casting formula. */
 	private SpellCasting.Casting casting;
+
+	/** Position in the SpellsIndex (-1 if not indexed). */
+	private int index;
 	
 	//--------------------------------------------------------------------------
 	//  Constructor
@@ -77,6 +80,7 @@ public class Spell {
 		area = parseArea(s[4]);
 		mode = parseMode(s[5]);
 		casting = null;
+		index = -1;
 	}
 
 	//--------------------------------------------------------------------------
@@ -186,6 +190,20 @@ public class Spell {
 		return name;
 	}
 
+	/**
+		Get the position in the SpellsIndex.
+	*/
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+		Set the position in the SpellsIndex.
+	*/
+	void setIndex(int index) {
+		this.index = index;
+	}
+
 	/**
 		Get the level.
 	*/
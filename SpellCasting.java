@@ -223,7 +223,7 @@ public class SpellCasting {
 		public void cast(Monster caster, Party friends, Party enemies) {		
 			int numHit = spellInfo.getMaxTargetsInArea();
 			List<Monster> hitTargets = enemies.randomGroup(numHit);
-			int effectHD = new Dice(2, 6).roll();
+			int effectHD = Dice.roll(2, 6);
 			for (Monster target: hitTargets) {
 				if (isThreatTo(target) && target.getHD() <= effectHD) {
 					effectHD -= target.getHD();
@@ -301,7 +301,7 @@ public class SpellCasting {
 		public void cast(Monster caster, Party friends, Party enemies) {		
 			int level = caster.getLevel();
 			int numDice = Math.min(level, 12);
-			int damage = new Dice(numDice, 6).roll();
+			int damage = Dice.roll(numDice, 6);
 			castEnergyOnArea(enemies, level, damage);
 		}
 	}
@@ -321,7 +321,7 @@ public class SpellCasting {
 		public void cast(Monster caster, Party friends, Party enemies) {		
 			int level = caster.getLevel();
 			int numDice = Math.min(level, 12);
-			int damage = new Dice(numDice, 6).roll();
+			int damage = Dice.roll(numDice, 6);
 			castEnergyOnArea(enemies, level, damage);
 		}
 	}
@@ -418,7 +418,7 @@ public class SpellCasting {
 		
 		@Override
 		public void cast(Monster caster, Party friends, Party enemies) {
-			int numHit = Math.min(new Dice(2, 6).roll(),
+			int numHit = Math.min(Dice.roll(2, 6),
 				spellInfo.getMaxTargetsInArea());
 			List<Monster> hitTargets = enemies.randomGroup(numHit);
 			for (Monster target: hitTargets) {
@@ -461,7 +461,7 @@ public class SpellCasting {
 
 		@Override
 		public void cast(Monster caster, Party friends, Party enemies) {		
-			int damage = new Dice(8, 6).roll();
+			int damage = Dice.roll(8, 6);
 			castEnergyOnArea(enemies, caster.getLevel(), damage);
 		}
 	}
@@ -615,7 +615,7 @@ public class SpellCasting {
 		public void cast(Monster caster, Party friends, Party enemies) {		
 			int numHit = spellInfo.getMaxTargetsInArea();
 			List<Monster> hitTargets = enemies.randomGroup(numHit);
-			int effectHD = new Dice(10, 6).roll();
+			int effectHD = Dice.roll(10, 6);
 			for (Monster target: hitTargets) {
 				if (isThreatTo(target) && target.getHD() <= effectHD) {
 					effectHD -= target.getHD();
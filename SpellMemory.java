@@ -1,12 +1,17 @@
-import java.util.Set;
+import java.util.List;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.Arrays;
+import java.util.Collections;
 
 /**
 	Memory of spells known by one creature.
 
-	We don't allow duplicates, so this uses the Set interface.
+	We don't allow duplicates. Spells are kept in the order added, with
+	flags by spell index (see SpellsIndex) for membership, and counts
+	by level & mode (all and castable). So a random spell not yet known
+	can be drawn directly, with no retries.
 
 	@author Daniel R. Collins (dcollins@superdan.net)
 	@since 2021-12-19
@@ -14,15 +19,34 @@ import java.util.LinkedHashSet;
 
 public class SpellMemory implements Iterable<Spell> {
 
+	//--------------------------------------------------------------------------
+	//  Constants
+	//--------------------------------------------------------------------------
+
+	/** 
+		Relative chance to pick each spell mode (by ordinal).
+		As per analysis of Gygax modules: see blog 2018-12-17.
+	*/
+	private static final int[] MODE_WEIGHTS = {3, 2, 1};
+
+	/** Spell modes (by ordinal). */
+	private static final Spell.Mode[] MODES = Spell.Mode.values();
+
 	//--------------------------------------------------------------------------
 	//  Fields
 	//--------------------------------------------------------------------------
 
-	/** The set of spells in memory (no duplicates). */
-	private Set<Spell> memory;
+	/** The spells in memory, in order added (no duplicates). */
+	private List<Spell> memory;
+
+	/** Flags for spells in memory, by spell index. */
+	private BitSet known;
+
+	/** Count of spells in memory by level & mode (see SpellsIndex). */
+	private int[] countByLevelMode;
 
-	/** Should we select in-sim castable spells first? */
-	private static boolean preferCastableSpells = false;
+	/** Count of castable spells in memory by level & mode. */
+	private int[] castableByLevelMode;
 
 	//--------------------------------------------------------------------------
 	//  Constructor
@@ -32,14 +56,22 @@ public class SpellMemory implements Iterable<Spell> {
 		Constructor.
 	*/
 	public SpellMemory() {
-		memory = new LinkedHashSet<Spell>();
+		SpellsIndex index = SpellsIndex.getInstance();
+		int slots = index.getMaxLevel() * MODES.length;
+		memory = new ArrayList<Spell>();
+		known = new BitSet(index.size());
+		countByLevelMode = new int[slots];
+		castableByLevelMode = new int[slots];
 	}
 
 	/**
 		Copy constructor.
 	*/
 	public SpellMemory(SpellMemory src) {
-		memory = new LinkedHashSet<Spell>(src.memory);
+		memory = new ArrayList<Spell>(src.memory);
+		known = (BitSet) src.known.clone();
+		countByLevelMode = src.countByLevelMode.clone();
+		castableByLevelMode = src.castableByLevelMode.clone();
 	}
 
 	//--------------------------------------------------------------------------
@@ -47,31 +79,49 @@ public class SpellMemory implements Iterable<Spell> {
 	//--------------------------------------------------------------------------
 
 	/**
-		Set static preference for in-sim castable spells.
+		Add a spell (from the SpellsIndex).
+		@return true if not already in memory.
 	*/
-	public static void setPreferCastableSpells(boolean prefer) {
-		preferCastableSpells = prefer;	
+	public boolean add(Spell s) {
+		if (contains(s)) {
+			return false;
+		}
+		memory.add(s);
+		known.set(s.getIndex());
+		updateCounts(s, 1);
+		return true;
 	}
 
 	/**
-		Add a spell.
+		Remove a spell.
+		@return true if it was in memory.
 	*/
-	public boolean add(Spell s) {
-		return memory.add(s);
+	public boolean remove(Spell s) {
+		if (!contains(s)) {
+			return false;
+		}
+		memory.remove(s);
+		known.clear(s.getIndex());
+		updateCounts(s, -1);
+		return true;
 	}
 
 	/**
-		Remove a spell.
+		Update counts by level & mode for a spell added or removed.
 	*/
-	public boolean remove(Spell s) {
-		return memory.remove(s);	
+	private void updateCounts(Spell s, int change) {
+		int slot = SpellsIndex.getSlot(s.getLevel(), s.getMode());
+		countByLevelMode[slot] += change;
+		if (s.isCastable()) {
+			castableByLevelMode[slot] += change;
+		}
 	}
 
 	/**
 		Is this spell in our memory?
 	*/
 	public boolean contains(Spell s) {
-		return memory.contains(s);
+		return s.getIndex() >= 0 && known.get(s.getIndex());
 	}
 	
 	/**
@@ -86,16 +136,16 @@ public class SpellMemory implements Iterable<Spell> {
 	*/
 	public int countAtLevel(int level) {
 		int count = 0;
-		for (Spell s: memory) {
-			if (s.getLevel() == level) {
-				count++;
+		if (level >= 1 && level * MODES.length <= countByLevelMode.length) {
+			for (Spell.Mode mode: MODES) {
+				count += countByLevelMode[SpellsIndex.getSlot(level, mode)];
 			}
 		}
 		return count;
 	}	
 
 	/**
-		Get a random spell of a given level.
+		Get the first spell added of a given level.
 	*/
 	private Spell getAtLevel(int level) {
 		for (Spell s: memory) {
@@ -108,42 +158,62 @@ public class SpellMemory implements Iterable<Spell> {
 
 	/**
 		Add a random spell from index at a given level.
-		Use rollMode() for weightings.
+		Each spell not yet known is weighted by its mode (MODE_WEIGHTS);
+		prefers castable spells if so configured and any are left.
+		One roll picks both mode & spell.
 		@return true if we added a spell.
 	*/
 	public boolean addRandom(int level) {
 		SpellsIndex index = SpellsIndex.getInstance();
+		boolean preferCastable
+			= SimulationConfig.current().preferCastableSpells();
 		int startCount = countAtLevel(level);
 		if (startCount < index.getNumAtLevel(level)) {
-			Spell.Mode mode;
-			Spell spell;
-			do {
-				mode = rollMode();
-				if (preferCastableSpells
-					&& startCount < index.getNumAtLevelCastable(level))
-				{
-					spell = index.getRandomCastable(level);
-				}				
-				else {
-					spell = index.getRandom(level);
+			boolean castableOnly = preferCastable
+				&& startCount < index.getNumAtLevelCastable(level);
+			int total = 0;
+			for (Spell.Mode mode: MODES) {
+				total += MODE_WEIGHTS[mode.ordinal()]
+					* countUnknown(index, level, mode, castableOnly);
+			}
+			int roll = Dice.roll(total);
+			for (Spell.Mode mode: MODES) {
+				int weight = MODE_WEIGHTS[mode.ordinal()];
+				int span = weight * countUnknown(index, level, mode, castableOnly);
+				if (roll <= span) {
+					add(getUnknown(index.getAtLevelMode(level, mode, castableOnly),
+						(roll - 1) / weight));
+					return true;
 				}
-			} while (contains(spell) || spell.getMode() != mode);
-			add(spell);
-			return true;
+				roll -= span;
+			}
 		}
 		return false;
 	}
 
 	/**
-		Roll random selected spell mode.
-		As per analysis of Gygax modules: see blog 2018-12-17.
+		Count spells in the index not in memory, by level & mode.
 	*/
-	private Spell.Mode rollMode() {
-		switch (Dice.roll(6)) {
-			case 1: return Spell.Mode.Miscellany;
-			case 2: case 3: return Spell.Mode.Defense;
-			default: return Spell.Mode.Attack;
-		}	
+	private int countUnknown(SpellsIndex index, int level, Spell.Mode mode,
+		boolean castableOnly)
+	{
+		int slot = SpellsIndex.getSlot(level, mode);
+		int inMemory = castableOnly 
+			? castableByLevelMode[slot] : countByLevelMode[slot];
+		return index.getAtLevelMode(level, mode, castableOnly).length 
+			- inMemory;
+	}
+
+	/**
+		Get the nth spell (from 0) in an array that is not in memory.
+	*/
+	private Spell getUnknown(Spell[] spells, int n) {
+		for (Spell s: spells) {
+			if (!contains(s) && n-- == 0) {
+				return s;
+			}
+		}
+		return null;
 	}
 
 	/**
@@ -178,6 +248,9 @@ public class SpellMemory implements Iterable<Spell> {
 	public void loseSpellLevel(int level) {
 		if (level <= 1) {
 			memory.clear();		
+			known.clear();
+			Arrays.fill(countByLevelMode, 0);
+			Arrays.fill(castableByLevelMode, 0);
 			return;
 		}
 		SpellsDaily spellsDaily = SpellsDaily.getInstance();
@@ -223,7 +296,7 @@ public class SpellMemory implements Iterable<Spell> {
 	*	Return iterator for the iterable interface.
 	*/
 	public Iterator<Spell> iterator() {        
-		return memory.iterator();
+		return Collections.unmodifiableList(memory).iterator();
 	}
 
 	/**
@@ -239,5 +312,19 @@ public class SpellMemory implements Iterable<Spell> {
 			mem.addRandom(level);
 		}
 		System.out.println(mem);
+
+		// Time full spell load-outs for high-level wizards
+		int number = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		long start = System.nanoTime();
+		long total = 0;
+		for (int i = 0; i < number; i++) {
+			SpellMemory wizard = new SpellMemory();
+			wizard.addSpellsForWizard(20);
+			total += wizard.memory.size();
+		}
+		long time = System.nanoTime() - start;
+		System.out.println(String.format(
+			"Level 20 wizards: %.2f us each, mean %.2f spells",
+			time / 1000.0 / number, (double) total / number));
 	}
 }
@@ -1,8 +1,14 @@
 import java.io.IOException; 
+import java.util.ArrayList;
+import java.util.List;
 
 /**
 	Index of available spells.
 
+	Spells are also kept in arrays by level, and by level & mode, for
+	all spells and only those castable in the sim; so a random spell of
+	any such kind is a direct draw.
+
 	@author Daniel R. Collins (dcollins@superdan.net)
 	@since 2018-12-05
 */
@@ -26,11 +32,20 @@ public class SpellsIndex {
 	/** Table of spell information. */
 	private Spell[] spellList;
 
-	/** Number of spells at each level. */
-	private int[] numAtLevel;
+	/** Index of spells by name. */
+	private NameIndex<Spell> nameIndex;
+
+	/** Spells at each level (in table order). */
+	private Spell[][] atLevel;
+
+	/** Castable spells at each level (in table order). */
+	private Spell[][] castableAtLevel;
 
-	/** Number of castable spells at each level. */
-	private int[] numAtLevelCastable;
+	/** Spells by level & mode (see getSlot()). */
+	private Spell[][] byLevelMode;
+
+	/** Castable spells by level & mode (see getSlot()). */
+	private Spell[][] castableByLevelMode;
 
 	/** Maximum spell level. */
 	private int maxLevel;
@@ -48,11 +63,12 @@ public class SpellsIndex {
 		spellList = new Spell[table.length - 1];
 		for (int i = 1; i < table.length; i++) {
 			spellList[i - 1] = new Spell(table[i]);
+			spellList[i - 1].setIndex(i - 1);
 		}		
+		nameIndex = new NameIndex<Spell>(spellList, Spell::getName, false);
 		setMaxLevel();
-		countNumAtLevels();
 		linkSpellsToCastings();
-		countNumCastable();
+		makeLevelArrays();
 	}
 
 	//--------------------------------------------------------------------------
@@ -104,89 +120,105 @@ public class SpellsIndex {
 	}
 
 	/**
-		Get number at a given level.
+		Get the number of spells in the index.
 	*/
-	public int getNumAtLevel(int level) {
-		return numAtLevel[level - 1];
+	public int size() {
+		return spellList.length;
+	}
+
+	/**
+		Get slot for a level & mode in by-mode arrays.
+	*/
+	static int getSlot(int level, Spell.Mode mode) {
+		return (level - 1) * Spell.Mode.values().length + mode.ordinal();
 	}
 
 	/**
-		Count spells at each level.
+		Sort spells into arrays by level & mode.
+		Call after linking castings.
 	*/
-	private void countNumAtLevels() {
-		numAtLevel = new int[maxLevel];
+	private void makeLevelArrays() {
+		int numModes = Spell.Mode.values().length;
+		atLevel = new Spell[maxLevel][];
+		castableAtLevel = new Spell[maxLevel][];
+		byLevelMode = new Spell[maxLevel * numModes][];
+		castableByLevelMode = new Spell[maxLevel * numModes][];
+		for (int level = 1; level <= maxLevel; level++) {
+			atLevel[level - 1] = select(level, null, false);
+			castableAtLevel[level - 1] = select(level, null, true);
+			for (Spell.Mode mode: Spell.Mode.values()) {
+				int slot = getSlot(level, mode);
+				byLevelMode[slot] = select(level, mode, false);
+				castableByLevelMode[slot] = select(level, mode, true);
+			}
+		}
+	}
+
+	/**
+		Select spells in table order by level, mode (null = any), 
+		and castable.
+	*/
+	private Spell[] select(int level, Spell.Mode mode, boolean castableOnly) {
+		List<Spell> list = new ArrayList<Spell>();
 		for (Spell s: spellList) {
-			numAtLevel[s.getLevel() - 1]++;
+			if (s.getLevel() == level
+				&& (mode == null || s.getMode() == mode)
+				&& (!castableOnly || s.isCastable()))
+			{
+				list.add(s);
+			}
 		}
+		return list.toArray(new Spell[list.size()]);
+	}
+
+	/**
+		Get number at a given level.
+	*/
+	public int getNumAtLevel(int level) {
+		return atLevel[level - 1].length;
 	}
 
 	/**
 		Get number castable at a given level.
 	*/
 	public int getNumAtLevelCastable(int level) {
-		return numAtLevelCastable[level - 1];
+		return castableAtLevel[level - 1].length;
 	}
 
 	/**
-		Count spells castable by level.
+		Get spells of a given level & mode (shared; do not modify).
 	*/
-	private void countNumCastable() {
-		numAtLevelCastable = new int[maxLevel];
-		for (Spell s: spellList) {
-			if (s.isCastable()) {
-				numAtLevelCastable[s.getLevel() - 1]++;
-			}
-		}
+	Spell[] getAtLevelMode(int level, Spell.Mode mode, boolean castableOnly) {
+		int slot = getSlot(level, mode);
+		return castableOnly ? castableByLevelMode[slot] : byLevelMode[slot];
 	}
 
 	/**
 		Get random spell by level.
 	*/
 	public Spell getRandom(int level) {
-		int count = getNumAtLevel(level);
-		if (count > 0) {
-			int roll = Dice.roll(count);
-			for (Spell s: spellList) {
-				if (s.getLevel() == level) {
-					if (--roll == 0) {
-						return s;
-					}
-				}
-			}
-		}
-		return null;
+		return randomFrom(atLevel[level - 1]);
 	}
 
 	/**
 		Get random castable spell by level.
 	*/
 	public Spell getRandomCastable(int level) {
-		int count = getNumAtLevelCastable(level);
-		if (count > 0) {
-			int roll = Dice.roll(count);
-			for (Spell s: spellList) {
-				if (s.getLevel() == level
-					&& s.isCastable())
-				{
-					if (--roll == 0) {
-						return s;
-					}
-				}
-			}
-		}
-		return null;
+		return randomFrom(castableAtLevel[level - 1]);
+	}
+
+	/**
+		Get random spell from an array (null if empty).
+	*/
+	private static Spell randomFrom(Spell[] spells) {
+		return spells.length > 0 ? spells[Dice.roll(spells.length) - 1] : null;
 	}
 
 	/**
 		Find a spell by name.
 	*/
 	public Spell findByName(String name) {
-		for (Spell s: spellList) {
-			if (s.getName().equals(name)) {
-				return s;
-			}
-		}
-		return null;
+		return nameIndex.get(name);
 	}
 
 	/**
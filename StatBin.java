@@ -38,6 +38,13 @@ public class StatBin {
 		bin.add(c);
 	}
 
+	/**
+		Add all characters from another bin into these stats.
+	*/
+	public void addBin(StatBin other) {
+		bin.addAll(other.bin);
+	}
+
 	/**
 		Get size of the bin.
 	*/
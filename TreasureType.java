@@ -52,7 +52,7 @@ public class TreasureType {
 				percent = 0;
 			}
 			else {
-				dice = new Dice(sDice);
+				dice = new Dice(sDice).compile();
 				percent = Integer.parseInt(sPercent);
 			}
 		}
@@ -1,6 +1,26 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
 	Make matrix of win ratios for opposing solo fighters of different levels.
 
+	Every fight has a winner (ties are a coin flip), so the chance for
+	level j to beat level i is one minus the chance for i to beat j, and
+	equal levels win half the time. So only cells above the diagonal
+	are run. Each cell gets its own random context, split in order before
+	any are run, and cells are spread over threads (each in the caller's
+	SimulationConfig); results for a fixed seed are the same for any
+	number of threads. Each trial pairs two new fighters, and counts the
+	exact chance to win if DuelSolver can find it (else the result of one
+	fight). A cell may stop early once its confidence interval is narrow
+	enough.
+
 	@author Daniel R. Collins (dcollins@superdan.net)
 	@since 2021-07-10
 */
@@ -11,37 +31,288 @@ public class WinMatrix {
 	//  Constants
 	//--------------------------------------------------------------------------
 
-	/** Number of trials per matrix entry. */
-	static final int NUM_TRIALS = 10000;
+	/** Default number of trials per matrix entry. */
+	private static final int DEFAULT_TRIALS = 10000;
+
+	/** Default maximum level considered. */
+	private static final int DEFAULT_MAX_LEVEL = 12;
+
+	/** Default number of threads. */
+	private static final int DEFAULT_THREADS
+		= Runtime.getRuntime().availableProcessors();
+
+	/** Minimum trials in a cell before stopping early. */
+	private static final int MIN_TRIALS_TO_STOP = 100;
+
+	//--------------------------------------------------------------------------
+	//  Fields
+	//--------------------------------------------------------------------------
+
+	/** Maximum number of trials per matrix entry. */
+	private int numTrials;
 
 	/** Maximum level considered. */
-	static final int MAX_LEVEL = 12;
+	private int maxLevel;
+
+	/** Number of threads to run cells. */
+	private int numThreads;
+
+	/** Stop a cell when 95% CI half-width is under this percent (0 = never). */
+	private double ciHalfWidth;
+
+	/** Print output as CSV? */
+	private boolean csvOutput;
+
+	/** Flag to escape after parsing arguments. */
+	private boolean exitAfterArgs;
+
+	/** Arena to make new fighters. */
+	private Arena arena;
+
+	/** Win ratio for the row level vs. the column level (1-based). */
+	private double[][] winRatios;
+
+	/** Trials run for each cell. */
+	private int[][] trialsRun;
+
+	//--------------------------------------------------------------------------
+	//  Constructors
+	//--------------------------------------------------------------------------
+
+	/**
+		Constructor.
+	*/
+	public WinMatrix() {
+		Dice.initialize();
+		numTrials = DEFAULT_TRIALS;
+		maxLevel = DEFAULT_MAX_LEVEL;
+		numThreads = DEFAULT_THREADS;
+		arena = new Arena(1, false, Arena.TreasureModel.Dungeon);
+	}
 
 	//--------------------------------------------------------------------------
 	//  Methods
 	//--------------------------------------------------------------------------
 
 	/**
-		Main test method.
+		Helper print method.
 	*/
-	public static void main(String[] args) {
-		Arena arena = new Arena(1, false, Arena.TreasureModel.Dungeon);
-		for (int i = 1; i <= MAX_LEVEL; i++) {
-			for (int j = 1; j <= MAX_LEVEL; j++) {
-				int numFtr1Wins = 0;
-				for (int n = 1; n <= NUM_TRIALS; n++) {
-					Party party1 = new Party(arena.newFighter(i));
-					Party party2 = new Party(arena.newFighter(j));
-					FightManager manager = new FightManager(party1, party2);
-					if (manager.fight() == party1) {
-						numFtr1Wins++;
+	private void println(String s) {
+		System.out.println(s);
+	}
+
+	/**
+		Print usage.
+	*/
+	public void printUsage() {
+		println("Usage: WinMatrix [options]");
+		println("  where options include:");
+		println("\t-c output as CSV");
+		println("\t-m maximum level (default =" + DEFAULT_MAX_LEVEL + ")");
+		println("\t-n maximum trials per cell (default ="
+			+ DEFAULT_TRIALS + ")");
+		println("\t-w stop cell when 95% CI is within +/- this percent (=#.#)");
+		println("\t-S seed random numbers for a reproducible run (=#)");
+		println("\t-T threads to run cells (default ="
+			+ DEFAULT_THREADS + ")");
+		println("");
+	}
+
+	/**
+		Parse arguments.
+	*/
+	public void parseArgs(String[] args) {
+		for (String s: args) {
+			if (s.length() > 1 && s.charAt(0) == '-') {
+				switch (s.charAt(1)) {
+					case 'c': csvOutput = true; break;
+					case 'm': maxLevel = getParamInt(s); break;
+					case 'n': numTrials = getParamInt(s); break;
+					case 'w': ciHalfWidth = getParamDouble(s); break;
+					case 'S': Dice.setSeed(getParamInt(s)); break;
+					case 'T': numThreads = getParamInt(s); break;
+					default: exitAfterArgs = true; break;
+				}
+			}
+			else {
+				exitAfterArgs = true;
+			}
+		}
+		if (maxLevel < 1 || numTrials < 1 || numThreads < 1) {
+			exitAfterArgs = true;
+		}
+	}
+
+	/**
+		Get integer following equals sign in command parameter.
+	*/
+	private int getParamInt(String s) {
+		if (s.length() > 3 && s.charAt(2) == '=') {
+			try {
+				return Integer.parseInt(s.substring(3));
+			}
+			catch (NumberFormatException e) {
+			}
+		}
+		exitAfterArgs = true;
+		return -1;
+	}
+
+	/**
+		Get decimal number following equals sign in command parameter.
+	*/
+	private double getParamDouble(String s) {
+		if (s.length() > 3 && s.charAt(2) == '=') {
+			try {
+				return Double.parseDouble(s.substring(3));
+			}
+			catch (NumberFormatException e) {
+			}
+		}
+		exitAfterArgs = true;
+		return -1;
+	}
+
+	/**
+		Compute the matrix.
+	*/
+	public void run() {
+		winRatios = new double[maxLevel + 1][maxLevel + 1];
+		trialsRun = new int[maxLevel + 1][maxLevel + 1];
+		for (int i = 1; i <= maxLevel; i++) {
+			winRatios[i][i] = 0.5;
+		}
+
+		// List cells above the diagonal, each with its own context
+		List<int[]> cells = new ArrayList<int[]>();
+		for (int i = 1; i <= maxLevel; i++) {
+			for (int j = i + 1; j <= maxLevel; j++) {
+				cells.add(new int[] { i, j });
+			}
+		}
+		RollContext base = RollContext.current();
+		RollContext[] contexts = new RollContext[cells.size()];
+		for (int c = 0; c < contexts.length; c++) {
+			contexts[c] = base.split();
+		}
+		SimulationConfig config = SimulationConfig.current();
+
+		// Run cells on worker threads
+		FightBatch.loadTables();
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try {
+			AtomicInteger nextCell = new AtomicInteger();
+			List<Future<?>> workers = new ArrayList<Future<?>>();
+			for (int t = 0; t < numThreads; t++) {
+				workers.add(pool.submit(() -> {
+					int c;
+					while ((c = nextCell.getAndIncrement()) < cells.size()) {
+						int[] cell = cells.get(c);
+						runCellInContext(cell[0], cell[1], contexts[c], config);
 					}
+				}));
+			}
+			for (Future<?> worker: workers) {
+				try {
+					worker.get();
+				}
+				catch (InterruptedException | ExecutionException e) {
+					throw new RuntimeException("Error in win matrix cell", e);
+				}
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+		Run trials for one cell (and its mirror) in a given context & config.
+	*/
+	private void runCellInContext(int level1, int level2, RollContext context,
+		SimulationConfig config)
+	{
+		RollContext previous = RollContext.install(context);
+		SimulationConfig previousConfig = SimulationConfig.install(config);
+		try {
+			SampleStats wins = new SampleStats();
+			while (wins.size() < numTrials) {
+				wins.add(DuelSolver.solveOrFight(
+					arena.newFighter(level1), arena.newFighter(level2)));
+				if (ciHalfWidth > 0 && wins.size() >= MIN_TRIALS_TO_STOP
+						&& wins.getHalfWidth95() * 100 < ciHalfWidth) {
+					break;
+				}
+			}
+			winRatios[level1][level2] = wins.getMean();
+			winRatios[level2][level1] = 1 - wins.getMean();
+			trialsRun[level1][level2] = wins.size();
+			trialsRun[level2][level1] = wins.size();
+		}
+		finally {
+			SimulationConfig.install(previousConfig);
+			RollContext.install(previous);
+		}
+	}
+
+	/**
+		Print the matrix of win percentages (row level vs. column).
+	*/
+	public void printMatrix() {
+		if (csvOutput) {
+			StringBuilder header = new StringBuilder("Level");
+			for (int j = 1; j <= maxLevel; j++) {
+				header.append("," + j);
+			}
+			System.out.println(header);
+			for (int i = 1; i <= maxLevel; i++) {
+				StringBuilder row = new StringBuilder("" + i);
+				for (int j = 1; j <= maxLevel; j++) {
+					row.append(String.format(Locale.ROOT, ",%.1f",
+						winRatios[i][j] * 100));
+				}
+				System.out.println(row);
+			}
+		}
+		else {
+			for (int i = 1; i <= maxLevel; i++) {
+				for (int j = 1; j <= maxLevel; j++) {
+					System.out.print(Math.round(winRatios[i][j] * 100) + "\t");
 				}
-				int winPct = 100 * numFtr1Wins / NUM_TRIALS;
-				System.out.print(winPct + "\t");				
+				System.out.println();
 			}
 			System.out.println();
 		}
-		System.out.println();
+	}
+
+	/**
+		Get total trials run for all cells computed.
+	*/
+	public long getTotalTrials() {
+		long total = 0;
+		for (int i = 1; i <= maxLevel; i++) {
+			for (int j = i + 1; j <= maxLevel; j++) {
+				total += trialsRun[i][j];
+			}
+		}
+		return total;
+	}
+
+	/**
+		Main application method.
+	*/
+	public static void main(String[] args) {
+		WinMatrix matrix = new WinMatrix();
+		matrix.parseArgs(args);
+		if (matrix.exitAfterArgs) {
+			matrix.printUsage();
+		}
+		else {
+			matrix.run();
+			matrix.printMatrix();
+			if (!matrix.csvOutput) {
+				System.out.println("Trials run: " + matrix.getTotalTrials());
+			}
+		}
 	}
 }
@@ -3,6 +3,10 @@ import java.io.IOException;
 /**
 	Experience award table from Sup-I.
 
+	Rows are indexed at load time by hit-dice signature (number of dice,
+	and whether -1, even, or +1), and high rows by every dice number up
+	to the table's last, so an award lookup is plain array access.
+
 	@author Daniel R. Collins (dcollins@superdan.net)
 	@since 2015-12-27
 */
@@ -16,6 +20,18 @@ public class XPAwardTable {
 	/** Name of file with information. */
 	private static final String XP_AWARD_TABLE_FILE = "XPAwardTable.csv";
 
+	/** Hit dice from which the table is only by number (no adds). */
+	private static final int HIGH_DICE_START = 9;
+
+	/** Column in low-dice index for dice minus one. */
+	private static final int MINUS_ONE = 0;
+
+	/** Column in low-dice index for even dice. */
+	private static final int EVEN = 1;
+
+	/** Column in low-dice index for dice plus one. */
+	private static final int PLUS_ONE = 2;
+
 	//--------------------------------------------------------------------------
 	//  Inner class
 	//--------------------------------------------------------------------------
@@ -55,6 +71,15 @@ public class XPAwardTable {
 	/** Array of XPRecords. */
 	private XPAwardRecord[] xpAwardRecordArray;
 
+	/** Record for under one hit die. */
+	private XPAwardRecord halfDieRecord;
+
+	/** Records for low hit dice, by number & add column. */
+	private XPAwardRecord[][] lowDiceRecords;
+
+	/** Records for high hit dice, by number (last covers all above). */
+	private XPAwardRecord[] highDiceRecords;
+
 	//--------------------------------------------------------------------------
 	//  Constructors
 	//--------------------------------------------------------------------------
@@ -69,6 +94,7 @@ public class XPAwardTable {
 		for (int i = 1; i < table.length; i++) {
 			xpAwardRecordArray[i - 1] = new XPAwardRecord(table[i]);
 		}
+		indexRecords();
 	}
 
 	//--------------------------------------------------------------------------
@@ -90,6 +116,72 @@ public class XPAwardTable {
 		return instance;
 	}
 
+	/**
+		Index records by hit-dice signature.
+		Parses each row's hit dice text once.
+	*/
+	private void indexRecords() {
+		lowDiceRecords = new XPAwardRecord[HIGH_DICE_START + 1][3];
+		int maxHighDice = HIGH_DICE_START;
+		for (XPAwardRecord record: xpAwardRecordArray) {
+			String text = record.hitDiceStr;
+			if (text.contains("/")) {
+				halfDieRecord = record;
+			}
+			else if (text.endsWith("-1")) {
+				setLowRecord(parseDiceNum(text), MINUS_ONE, record);
+			}
+			else if (text.endsWith("+1")) {
+				setLowRecord(parseDiceNum(text), PLUS_ONE, record);
+			}
+			else {
+				int num = Integer.parseInt(text);
+				setLowRecord(num, EVEN, record);
+				maxHighDice = Math.max(maxHighDice, num);
+			}
+		}
+		highDiceRecords = new XPAwardRecord[maxHighDice + 1];
+		XPAwardRecord current = null;
+		for (int num = HIGH_DICE_START; num <= maxHighDice; num++) {
+			XPAwardRecord exact = getEvenRecord(num);
+			if (exact != null) {
+				current = exact;
+			}
+			highDiceRecords[num] = current;
+		}
+	}
+
+	/**
+		Parse the number of dice from hit dice text with an add.
+	*/
+	private static int parseDiceNum(String text) {
+		return Integer.parseInt(text.substring(0, text.length() - 2));
+	}
+
+	/**
+		Set a low-dice record, if in range of the index.
+	*/
+	private void setLowRecord(int num, int column, XPAwardRecord record) {
+		if (0 <= num && num < lowDiceRecords.length) {
+			lowDiceRecords[num][column] = record;
+		}
+	}
+
+	/**
+		Get the record for an even number of hit dice (null if none).
+	*/
+	private XPAwardRecord getEvenRecord(int num) {
+		if (num < lowDiceRecords.length) {
+			return lowDiceRecords[num][EVEN];
+		}
+		for (XPAwardRecord record: xpAwardRecordArray) {
+			if (record.hitDiceStr.equals(Integer.toString(num))) {
+				return record;
+			}
+		}
+		return null;
+	}
+
 	/**
 		Get total XP for monster as per Sup-I.
 		Monster xpBonuses give special addition each.
@@ -128,59 +220,31 @@ public class XPAwardTable {
 
 		// Handle different table cases
 		if (num == 0) {
-			return getRecordByText("1/2");
+			return halfDieRecord;
 		}
 		else if (num == 1 && hitDice.getMul() < 0) {
-			return getRecordByText("1/2");
+			return halfDieRecord;
 		}
 		else if (num == 1 && add == -1) {
-			return getRecordByText("1-1");
+			return lowDiceRecords[1][MINUS_ONE];
 		}
-		else if (num < 9) {
-			String hitDiceStr;
+		else if (num < HIGH_DICE_START) {
 			if (add <= 0) {
-				hitDiceStr = num + "";
+				return lowDiceRecords[num][EVEN];
 			}
 			else if (add == 1) {
-				hitDiceStr = num + "+1";
+				return lowDiceRecords[num][PLUS_ONE];
 			}
 			else {
-				hitDiceStr = (num + 1) + "";
+				return lowDiceRecords[num + 1][EVEN];
 			}
-			return getRecordByText(hitDiceStr);
 		}
 		else {
 			if (add > 2) {
 				num++;
 			}
-			return getRecordByNum(num);
-		}
-	}
-
-	/**
-		Get record by hit dice text.
-	*/
-	private XPAwardRecord getRecordByText(String text) {
-		for (XPAwardRecord record: xpAwardRecordArray) {
-			if (record.hitDiceStr.equals(text)) {
-				return record;
-			}
-		}			
-		return null;	
-	}
-
-	/**
-		Get record by high hit die number.
-	*/
-	private XPAwardRecord getRecordByNum(int num) {
-		assert (num >= 9);
-		for (int i = xpAwardRecordArray.length - 1; i > 0; i--) {
-			XPAwardRecord record = xpAwardRecordArray[i];
-			if (num >= Integer.parseInt(record.hitDiceStr)) {
-				return record;
-			}
+			return highDiceRecords[Math.min(num, highDiceRecords.length - 1)];
 		}
-		return null;	
 	}
 
 	/**
@@ -203,5 +267,13 @@ public class XPAwardTable {
 			System.out.println(m.getRace() + ": " + m.getXPAward());
 		}
 		System.out.println();
+
+		// Print fighter XP awards by level
+		System.out.println("Fighter XP Awards");
+		for (int level = 0; level <= 24; level++) {
+			Character c = new Character("Human", "Fighter", level, null, false);
+			System.out.println(level + ": " + c.getXPAward());
+		}
+		System.out.println();
 	}
 }